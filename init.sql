@@ -6,6 +6,8 @@ CREATE TABLE IF NOT EXISTS venues (
     location VARCHAR(500) NOT NULL,
     sport_id VARCHAR(50) NOT NULL,
     sport_name VARCHAR(255) NOT NULL,
+    available_slots_count INT NOT NULL DEFAULT 0,
+    data_version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     INDEX idx_sport_id (sport_id),
@@ -22,6 +24,7 @@ CREATE TABLE IF NOT EXISTS time_slots (
                                           FOREIGN KEY (venue_id) REFERENCES venues(id) ON DELETE CASCADE,
     INDEX idx_venue_time (venue_id, start_time, end_time),
     INDEX idx_availability (venue_id, is_available),
+    INDEX idx_available_end (is_available, end_time),
     CONSTRAINT chk_time_order CHECK (end_time > start_time),
     UNIQUE KEY unique_venue_time (venue_id, start_time, end_time)
     ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -32,8 +35,9 @@ CREATE TABLE IF NOT EXISTS bookings (
                                         customer_name VARCHAR(255) NOT NULL,
     customer_email VARCHAR(255) NOT NULL,
     customer_phone VARCHAR(20),
-    status ENUM('CONFIRMED', 'CANCELLED') DEFAULT 'CONFIRMED',
+    status ENUM('HELD', 'CONFIRMED', 'CANCELLED', 'EXPIRED') DEFAULT 'CONFIRMED',
     booking_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    hold_expires_at DATETIME(6) NULL,
     cancelled_at TIMESTAMP NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
@@ -41,5 +45,101 @@ CREATE TABLE IF NOT EXISTS bookings (
     INDEX idx_customer_email (customer_email),
     INDEX idx_status (status),
     INDEX idx_slot_id (slot_id),
-    INDEX idx_slot_status (slot_id, status)
-    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
\ No newline at end of file
+    INDEX idx_slot_status (slot_id, status),
+    INDEX idx_booking_date (booking_date),
+    INDEX idx_status_hold_expiry (status, hold_expires_at)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(128) PRIMARY KEY,
+    request_hash CHAR(64) NOT NULL,
+    booking_id BIGINT NULL,
+    created_at DATETIME NOT NULL,
+    expires_at DATETIME NOT NULL,
+    INDEX idx_idempotency_expires_at (expires_at)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(64) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    venue_id BIGINT NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    dispatched_at DATETIME(6) NULL,
+    dead_lettered_at DATETIME(6) NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    INDEX idx_outbox_pending (dispatched_at, id)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Retention archive: slots and bookings whose slot ended before retention.archive-after.
+-- No foreign keys, so both tables can be range-partitioned by slot start month; ids are
+-- carried over from the hot tables. New months are split off p_future with
+-- ALTER TABLE ... REORGANIZE PARTITION p_future INTO (PARTITION p2026_xx ..., PARTITION p_future ...).
+CREATE TABLE IF NOT EXISTS time_slots_archive (
+    id BIGINT NOT NULL,
+    venue_id BIGINT NOT NULL,
+    start_time DATETIME NOT NULL,
+    end_time DATETIME NOT NULL,
+    is_available BOOLEAN NOT NULL,
+    created_at TIMESTAMP NULL,
+    archived_at DATETIME NOT NULL,
+    PRIMARY KEY (id, start_time),
+    INDEX idx_archive_venue_time (venue_id, start_time)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+    PARTITION BY RANGE COLUMNS (start_time) (
+    PARTITION p2025 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p2026_01 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p2026_02 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p2026_03 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p2026_04 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p2026_05 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p2026_06 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p2026_07 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p2026_08 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p2026_09 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p2026_10 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p2026_11 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p2026_12 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
+
+CREATE TABLE IF NOT EXISTS bookings_archive (
+    id BIGINT NOT NULL,
+    slot_id BIGINT NOT NULL,
+    slot_start_time DATETIME NOT NULL,
+    customer_name VARCHAR(255) NOT NULL,
+    customer_email VARCHAR(255) NOT NULL,
+    customer_phone VARCHAR(20),
+    status VARCHAR(16) NOT NULL,
+    booking_date TIMESTAMP NULL,
+    cancelled_at TIMESTAMP NULL,
+    created_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    archived_at DATETIME NOT NULL,
+    PRIMARY KEY (id, slot_start_time),
+    INDEX idx_archive_customer_email (customer_email),
+    INDEX idx_archive_slot_id (slot_id)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+    PARTITION BY RANGE COLUMNS (slot_start_time) (
+    PARTITION p2025 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p2026_01 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p2026_02 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p2026_03 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p2026_04 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p2026_05 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p2026_06 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p2026_07 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p2026_08 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p2026_09 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p2026_10 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p2026_11 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p2026_12 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
+
+-- Written on the primary by the replica lag monitor (db.replica.*) and read back on each replica
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+    id INT PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,100 @@
+package com.booking.venuebooking.config;
+
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.boot.jackson.autoconfigure.CborMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+
+/**
+ * Serves {@code application/cbor} next to JSON for clients that send {@code Accept: application/cbor}.
+ * Slot start and end times go out as Unix epoch seconds instead of ISO strings; everything
+ * else keeps the JSON field names and shapes. Slot times are stored as wall-clock times in
+ * the server's zone (as in JSON), so that zone turns them into the instant that is sent.
+ */
+@Configuration
+public class CompactEncodingConfig {
+
+    @Bean
+    public CborMapperBuilderCustomizer slotTimesAsEpochSeconds() {
+        return builder -> builder.addMixIn(TimeSlotDTO.class, CompactTimeSlot.class);
+    }
+
+    // Takes the default CBOR slot after JSON, so Accept: */* keeps getting JSON
+    @Bean
+    public ServerHttpMessageConvertersCustomizer cborHttpMessageConverter(CBORMapper cborMapper) {
+        return builder -> builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper));
+    }
+
+    // Caches must key on Accept now that one URL has two bodies (the weak ETags are shared between them)
+    @Bean
+    public OncePerRequestFilter varyOnAcceptFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                chain.doFilter(request, response);
+            }
+        };
+    }
+
+    /**
+     * The CBOR mapper used for responses, for callers outside the Spring context (benchmarks).
+     */
+    public static CBORMapper cborMapper() {
+        return CBORMapper.builder().addMixIn(TimeSlotDTO.class, CompactTimeSlot.class).build();
+    }
+
+    abstract static class CompactTimeSlot {
+
+        @JsonSerialize(using = EpochSecondSerializer.class)
+        @JsonDeserialize(using = EpochSecondDeserializer.class)
+        private LocalDateTime startTime;
+
+        @JsonSerialize(using = EpochSecondSerializer.class)
+        @JsonDeserialize(using = EpochSecondDeserializer.class)
+        private LocalDateTime endTime;
+    }
+
+    // Epoch minutes would not be smaller: both fit CBOR's 4-byte integer, and seconds stay lossless.
+    // The zone is read once per mapper; a time a DST change skips or repeats takes the offset before it.
+    static class EpochSecondSerializer extends ValueSerializer<LocalDateTime> {
+
+        private final ZoneRules zone = ZoneId.systemDefault().getRules();
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializationContext context) {
+            generator.writeNumber(value.toEpochSecond(zone.getOffset(value)));
+        }
+    }
+
+    static class EpochSecondDeserializer extends ValueDeserializer<LocalDateTime> {
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) {
+            return LocalDateTime.ofInstant(Instant.ofEpochSecond(parser.getLongValue()), ZoneId.systemDefault());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.booking.venuebooking.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts {@link AdmissionControlledDataSource} in front of the connection pool when
+ * {@code db.admission.enabled=true} (on in the {@code virtual} profile).
+ *
+ * The permits guard the primary pool, so this wrapper runs first ({@link #ORDER}) and sits
+ * directly on the pool. {@link ReadReplicaConfig} wraps it, so replica reads never take a
+ * primary permit.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.admission.enabled", havingValue = "true")
+public class DatabaseAdmissionConfig {
+
+    // Lower runs first, i.e. wraps closer to the pool
+    public static final int ORDER = 0;
+
+    @Bean
+    public static AdmissionPostProcessor admissionControlledDataSourcePostProcessor(Environment environment) {
+        return new AdmissionPostProcessor(environment);
+    }
+
+    @Bean
+    public MeterBinder databaseAdmissionMetrics(DataSource dataSource) throws SQLException {
+        AdmissionControlledDataSource admission = dataSource.unwrap(AdmissionControlledDataSource.class);
+        return registry -> {
+            Gauge.builder("db.admission.waiting", admission, AdmissionControlledDataSource::waiting)
+                    .description("Threads queued for a database permit")
+                    .register(registry);
+            Gauge.builder("db.admission.in.use", admission, AdmissionControlledDataSource::inUse)
+                    .description("Database permits currently held")
+                    .register(registry);
+            FunctionTimer.builder("db.admission.wait", admission, AdmissionControlledDataSource::admitted,
+                            AdmissionControlledDataSource::waitSeconds, TimeUnit.SECONDS)
+                    .description("Time spent waiting for a database permit")
+                    .register(registry);
+            FunctionCounter.builder("db.admission.rejected", admission, AdmissionControlledDataSource::rejected)
+                    .description("Connection requests that timed out waiting for a permit")
+                    .register(registry);
+        };
+    }
+
+    // Declared as the bean type so Spring sees Ordered before creating it
+    static final class AdmissionPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        AdmissionPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionControlledDataSource)) {
+                int permits = environment.getProperty("db.admission.permits", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                Duration timeout = environment.getProperty("db.admission.timeout", Duration.class, Duration.ofSeconds(2));
+                return new AdmissionControlledDataSource(dataSource, permits, timeout);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+    }
+}
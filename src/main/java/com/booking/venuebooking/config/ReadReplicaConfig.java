@@ -0,0 +1,122 @@
+package com.booking.venuebooking.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puts {@link ReplicaRoutingDataSource} in front of the connection pool when
+ * {@code db.replica.enabled=true}, with one pool per URL in {@code db.replica.urls}.
+ * Replica pools copy the primary's Hikari settings and run read-only.
+ *
+ * The router is the outermost wrapper: it runs after {@link DatabaseAdmissionConfig}
+ * ({@link #ORDER}), so admission control only guards connections that reach the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    public static final int ORDER = DatabaseAdmissionConfig.ORDER + 1;
+
+    @Bean
+    public static RoutingPostProcessor replicaRoutingDataSourcePostProcessor(Environment environment) {
+        return new RoutingPostProcessor(environment);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(Environment environment) {
+        return new ReadYourWritesFilter(environment.getProperty("db.replica.read-your-writes-window",
+                Duration.class, Duration.ofSeconds(30)));
+    }
+
+    @Bean
+    public MeterBinder readReplicaMetrics(DataSource dataSource) throws SQLException {
+        ReplicaRoutingDataSource routing = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        return registry -> {
+            for (ReplicaRoutingDataSource.Replica replica : routing.replicas()) {
+                Gauge.builder("db.replica.lag", replica, ReplicaRoutingDataSource.Replica::lagSeconds)
+                        .description("Age of the newest primary heartbeat applied on the replica")
+                        .baseUnit("seconds")
+                        .tag("replica", replica.name())
+                        .register(registry);
+            }
+            for (String reason : List.of(ReplicaRoutingDataSource.LAGGING, ReplicaRoutingDataSource.READ_YOUR_WRITES,
+                    ReplicaRoutingDataSource.UNAVAILABLE)) {
+                FunctionCounter.builder("db.replica.fallbacks", routing, r -> r.fallbacks(reason))
+                        .description("Read-only transactions sent to the primary instead of a replica")
+                        .tag("reason", reason)
+                        .register(registry);
+            }
+        };
+    }
+
+    // Declared as the bean type so Spring sees Ordered before creating it
+    static final class RoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        RoutingPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof ReplicaRoutingDataSource)) {
+                List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+                String[] urls = environment.getProperty("db.replica.urls", String[].class, new String[0]);
+                for (int i = 0; i < urls.length; i++) {
+                    String name = "replica-" + (i + 1);
+                    replicas.add(new ReplicaRoutingDataSource.Replica(name,
+                            replicaPool(dataSource, name, urls[i].trim(), environment)));
+                }
+                return new ReplicaRoutingDataSource(dataSource, replicas,
+                        environment.getProperty("db.replica.max-lag", Duration.class, Duration.ofSeconds(2)),
+                        environment.getProperty("db.replica.heartbeat-interval", Duration.class, Duration.ofSeconds(1)));
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+    }
+
+    private static DataSource replicaPool(DataSource primary, String name, String url, Environment environment) {
+        HikariConfig config = new HikariConfig();
+        try {
+            if (primary.isWrapperFor(HikariDataSource.class)) {
+                primary.unwrap(HikariDataSource.class).copyStateTo(config);
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not read the primary pool settings", ex);
+        }
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername(environment.getProperty("db.replica.username",
+                environment.getProperty("spring.datasource.username")));
+        config.setPassword(environment.getProperty("db.replica.password",
+                environment.getProperty("spring.datasource.password")));
+        config.setMaximumPoolSize(environment.getProperty("db.replica.pool-size", Integer.class,
+                config.getMaximumPoolSize()));
+        config.setMinimumIdle(Math.min(config.getMinimumIdle(), config.getMaximumPoolSize()));
+        config.setConnectionTimeout(environment.getProperty("db.replica.connection-timeout", Duration.class,
+                Duration.ofSeconds(1)).toMillis());
+        config.setReadOnly(true);
+        return new HikariDataSource(config);
+    }
+}
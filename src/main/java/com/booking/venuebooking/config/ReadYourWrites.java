@@ -0,0 +1,104 @@
+package com.booking.venuebooking.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-request read-your-writes state for {@link ReplicaRoutingDataSource}.
+ *
+ * {@code readAfter} is the commit time (epoch millis) of the client's last write, taken
+ * from the {@code Read-After} header or cookie; replicas that have not caught up to it are
+ * skipped. {@code lastWrite} is the commit time of a write made by this request and is
+ * handed back to the client by {@link ReadYourWritesFilter}.
+ *
+ * {@link #onPrimary} pins reads to the primary for callers that must not see replica lag
+ * even without a {@code Read-After} value: idempotency key lookups (a retry may never have
+ * received the cookie) and cache fills (a lagging result would be cached for the TTL).
+ */
+public final class ReadYourWrites {
+
+    public static final String HEADER = "Read-After";
+    public static final String COOKIE = "read_after";
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static Scope open(long readAfter) {
+        Scope scope = new Scope(readAfter);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    // 0 when the current thread has no request scope or the client sent no write time
+    public static long readAfter() {
+        Scope scope = CURRENT.get();
+        return scope == null ? 0 : scope.readAfter;
+    }
+
+    // Raises the current request's floor, e.g. so a body is never older than the validators sent with it
+    public static void atLeast(long readAfter) {
+        Scope scope = CURRENT.get();
+        if (scope != null && readAfter > scope.readAfter) {
+            scope.readAfter = readAfter;
+        }
+    }
+
+    /**
+     * Runs {@code work} with every connection it opens taken from the primary. The first
+     * statement of a read-only transaction must run inside it; a transaction that already
+     * holds a replica connection keeps it.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (Boolean.TRUE.equals(PRIMARY.get())) {
+            return work.get();
+        }
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PRIMARY.remove();
+        }
+    }
+
+    static boolean pinnedToPrimary() {
+        return Boolean.TRUE.equals(PRIMARY.get());
+    }
+
+    // Called when the current transaction takes a primary connection for writing
+    static void recordWriteOnCommit() {
+        Scope scope = CURRENT.get();
+        if (scope == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scope.lastWrite = System.currentTimeMillis();
+            }
+        });
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private volatile long readAfter;
+        private volatile long lastWrite;
+
+        private Scope(long readAfter) {
+            this.readAfter = readAfter;
+        }
+
+        public long lastWrite() {
+            return lastWrite;
+        }
+
+        @Override
+        public void close() {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.booking.venuebooking.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+
+/**
+ * Carries the commit time of a client's last write between requests.
+ *
+ * A request whose transaction wrote to the primary gets a {@code Read-After} header and
+ * cookie with the commit time; the client's next requests send it back (either form) and
+ * their reads skip replicas that have not replicated that far. Values older than
+ * {@code window} are ignored, by then the lag guard alone is enough.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (ReadYourWrites.Scope scope = ReadYourWrites.open(readAfter(request))) {
+            StampingResponse stamping = new StampingResponse(response, scope);
+            chain.doFilter(request, stamping);
+            stamping.stamp();
+        }
+    }
+
+    private long readAfter(HttpServletRequest request) {
+        String value = request.getHeader(ReadYourWrites.HEADER);
+        if (value == null && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (ReadYourWrites.COOKIE.equals(cookie.getName())) {
+                    value = cookie.getValue();
+                }
+            }
+        }
+        if (value == null) {
+            return 0;
+        }
+        try {
+            long readAfter = Long.parseLong(value.trim());
+            long now = System.currentTimeMillis();
+            return readAfter > now - window.toMillis() && readAfter <= now ? readAfter : 0;
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    // Adds the header before the first byte of the body commits the response
+    private class StampingResponse extends HttpServletResponseWrapper {
+
+        private final ReadYourWrites.Scope scope;
+        private boolean stamped;
+
+        StampingResponse(HttpServletResponse response, ReadYourWrites.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        void stamp() {
+            long lastWrite = scope.lastWrite();
+            if (stamped || lastWrite == 0 || isCommitted()) {
+                return;
+            }
+            stamped = true;
+            setHeader(ReadYourWrites.HEADER, Long.toString(lastWrite));
+            addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(ReadYourWrites.COOKIE, Long.toString(lastWrite))
+                    .path("/").maxAge(window).httpOnly(true).sameSite("Lax").build().toString());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stamp();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stamp();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stamp();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            stamp();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            stamp();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            stamp();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.booking.venuebooking.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to replica pools and everything else to the primary.
+ *
+ * Connections are fetched lazily, on the first statement, so the routing decision sees
+ * the transaction's read-only flag. A replica is used only while
+ * <ul>
+ *     <li>its last heartbeat probe succeeded,</li>
+ *     <li>the newest primary heartbeat it has applied is at most {@code maxLag} old, and</li>
+ *     <li>it has applied a heartbeat written after the client's last write ({@link ReadYourWrites}).</li>
+ * </ul>
+ * Eligible replicas are used round-robin. A replica whose pool cannot hand out a connection
+ * is marked down until its next successful probe, and the read tries the next eligible
+ * replica. When none is left, the read falls back to the primary. Reads inside
+ * {@link ReadYourWrites#onPrimary} always use the primary.
+ *
+ * The lag is the age of the newest heartbeat on the replica, so it includes up to one
+ * {@code heartbeatInterval} on top of the replication delay.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements DisposableBean {
+
+    public static final String LAGGING = "lagging";
+    public static final String READ_YOUR_WRITES = "read_your_writes";
+    public static final String UNAVAILABLE = "unavailable";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final JdbcTemplate primaryJdbc;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder laggingFallbacks = new LongAdder();
+    private final LongAdder readYourWritesFallbacks = new LongAdder();
+    private final LongAdder unavailableFallbacks = new LongAdder();
+    private final ScheduledExecutorService heartbeat;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration maxLag, Duration heartbeatInterval) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMillis = maxLag.toMillis();
+        this.primaryJdbc = new JdbcTemplate(primary);
+        setTargetDataSource(new Router());
+        afterPropertiesSet();
+
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = heartbeatInterval.toMillis();
+        heartbeat.scheduleWithFixedDelay(this::probe, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes a heartbeat to the primary, then reads back the newest one each replica has.
+     */
+    public void probe() {
+        try {
+            long now = System.currentTimeMillis();
+            if (primaryJdbc.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", now) == 0) {
+                primaryJdbc.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", now);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not write replica heartbeat to the primary: {}", ex.getMessage());
+        }
+        for (Replica replica : replicas) {
+            try {
+                Long beatAt = replica.jdbc.queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+                replica.caughtUpTo = beatAt == null ? 0 : beatAt;
+                replica.up = true;
+            } catch (RuntimeException ex) {
+                if (replica.up) {
+                    log.warn("Replica {} failed its heartbeat probe, reading from the primary: {}",
+                            replica.name, ex.getMessage());
+                }
+                replica.up = false;
+            }
+        }
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    public long fallbacks(String reason) {
+        return switch (reason) {
+            case LAGGING -> laggingFallbacks.sum();
+            case READ_YOUR_WRITES -> readYourWritesFallbacks.sum();
+            default -> unavailableFallbacks.sum();
+        };
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        heartbeat.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection readConnection() throws SQLException {
+        long now = System.currentTimeMillis();
+        long readAfter = ReadYourWrites.readAfter();
+        boolean lagging = false;
+        boolean refused = false;
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (!replica.up || now - replica.caughtUpTo > maxLagMillis) {
+                lagging = true;
+                continue;
+            }
+            if (replica.caughtUpTo < readAfter) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException ex) {
+                replica.up = false;
+                refused = true;
+                log.warn("Replica {} refused a connection, skipping it until its next heartbeat: {}",
+                        replica.name, ex.getMessage());
+            }
+        }
+        (refused ? unavailableFallbacks : lagging ? laggingFallbacks : readYourWritesFallbacks).increment();
+        return primary.getConnection();
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbc;
+        private volatile boolean up;
+        private volatile long caughtUpTo;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbc = new JdbcTemplate(dataSource);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public double lagSeconds() {
+            return up ? (System.currentTimeMillis() - caughtUpTo) / 1000.0 : Double.NaN;
+        }
+    }
+
+    // Decides per physical connection, once the transaction's read-only flag is known
+    private class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                if (replicas.isEmpty() || ReadYourWrites.pinnedToPrimary()) {
+                    return primary.getConnection();
+                }
+                return readConnection();
+            }
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWrites.recordWriteOnCommit();
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(this) || primary.isWrapperFor(iface);
+        }
+    }
+}
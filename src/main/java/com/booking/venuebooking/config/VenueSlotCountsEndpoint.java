@@ -0,0 +1,27 @@
+package com.booking.venuebooking.config;
+
+import com.booking.venuebooking.service.VenueSlotCounts;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code POST /actuator/venueslotcounts} recounts every venue's available slots. Not
+ * exposed over HTTP by default; add it to {@code management.endpoints.web.exposure.include}
+ * for the run that needs it.
+ */
+@Component
+@Endpoint(id = "venueslotcounts")
+@RequiredArgsConstructor
+public class VenueSlotCountsEndpoint {
+
+    private final VenueSlotCounts venueSlotCounts;
+
+    @WriteOperation
+    public Map<String, Integer> recount() {
+        return Map.of("venues", venueSlotCounts.recountAll());
+    }
+}
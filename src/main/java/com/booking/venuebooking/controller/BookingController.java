@@ -2,12 +2,21 @@ package com.booking.venuebooking.controller;
 
 
 import com.booking.venuebooking.dto.BookingDTO;
+import com.booking.venuebooking.dto.CartBookingRequest;
+import com.booking.venuebooking.dto.CursorPage;
+import com.booking.venuebooking.service.BookingExportService;
 import com.booking.venuebooking.service.BookingService;
+import com.booking.venuebooking.service.IdempotencyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,20 +24,91 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
-    public ResponseEntity<BookingDTO> createBooking(@Valid @RequestBody BookingDTO dto) {
-        BookingDTO created = bookingService.createBooking(dto);
+    public ResponseEntity<BookingDTO> createBooking(
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody BookingDTO dto) {
+        if (idempotencyKey == null) {
+            BookingDTO created = bookingService.createBooking(dto);
+            return new ResponseEntity<>(created, HttpStatus.CREATED);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    IDEMPOTENCY_KEY + " must be 1-" + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+
+        // A retry with the same key gets the original booking back instead of a second booking
+        IdempotencyService.Result result = idempotencyService.createBooking(idempotencyKey, dto);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+                .body(result.booking());
+    }
+
+    @PostMapping("/cart")
+    public ResponseEntity<List<BookingDTO>> createBookings(@Valid @RequestBody CartBookingRequest request) {
+        List<BookingDTO> created = bookingService.createBookings(request);
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
+    // Holds the slot while the customer pays; confirm or release it before holdExpiresAt
+    @PostMapping("/holds")
+    public ResponseEntity<BookingDTO> holdSlot(@Valid @RequestBody BookingDTO dto) {
+        BookingDTO held = bookingService.holdSlot(dto);
+        return new ResponseEntity<>(held, HttpStatus.CREATED);
+    }
+
+    @PutMapping("/{id}/confirm")
+    public ResponseEntity<BookingDTO> confirmHold(@PathVariable Long id) {
+        BookingDTO confirmed = bookingService.confirmHold(id);
+        return ResponseEntity.ok(confirmed);
+    }
+
+    @PutMapping("/{id}/release")
+    public ResponseEntity<BookingDTO> releaseHold(@PathVariable Long id) {
+        BookingDTO released = bookingService.releaseHold(id);
+        return ResponseEntity.ok(released);
+    }
+
     @GetMapping
-    public ResponseEntity<List<BookingDTO>> getAllBookings() {
-        List<BookingDTO> bookings = bookingService.getAllBookings();
+    public ResponseEntity<CursorPage<BookingDTO>> getBookings(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String customerEmail,
+            @RequestParam(required = false) Long venueId) {
+
+        CursorPage<BookingDTO> bookings = bookingService.getBookings(cursor, size, status, customerEmail, venueId);
         return ResponseEntity.ok(bookings);
     }
 
+    // Streams every booking in [from, to) by booking date; memory use does not depend on row count
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        BookingExportService.Format exportFormat = BookingExportService.Format.valueOf(format.toUpperCase());
+        if (from != null && to != null && !to.isAfter(from)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+
+        StreamingResponseBody body = out -> bookingExportService.export(exportFormat, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BookingDTO> getBookingById(@PathVariable Long id) {
         BookingDTO booking = bookingService.getBookingById(id);
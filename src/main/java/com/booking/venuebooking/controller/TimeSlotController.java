@@ -1,13 +1,17 @@
 package com.booking.venuebooking.controller;
 
 
+import com.booking.venuebooking.dto.BulkSlotRequest;
+import com.booking.venuebooking.dto.BulkSlotResponse;
 import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.service.SlotQueryCache;
 import com.booking.venuebooking.service.TimeSlotService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController
@@ -26,9 +30,22 @@ public class TimeSlotController {
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkSlotResponse> createSlots(
+            @PathVariable Long venueId,
+            @Valid @RequestBody BulkSlotRequest request) {
+
+        BulkSlotResponse created = timeSlotService.createSlots(venueId, request);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
     @GetMapping
-    public ResponseEntity<List<TimeSlotDTO>> getSlotsByVenue(@PathVariable Long venueId) {
-        List<TimeSlotDTO> slots = timeSlotService.getSlotsByVenue(venueId);
-        return ResponseEntity.ok(slots);
+    public ResponseEntity<List<TimeSlotDTO>> getSlotsByVenue(@PathVariable Long venueId, WebRequest request) {
+        // The ETag comes from the cached list being served, so it can never run ahead of the body
+        SlotQueryCache.VenueSlots slots = timeSlotService.getVenueSlots(venueId);
+        if (request.checkNotModified(slots.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok(slots.slots());
     }
 }
\ No newline at end of file
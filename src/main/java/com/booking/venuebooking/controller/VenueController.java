@@ -1,16 +1,28 @@
 package com.booking.venuebooking.controller;
 
 
+import com.booking.venuebooking.dto.AvailabilityGridDTO;
+import com.booking.venuebooking.dto.CursorPage;
+import com.booking.venuebooking.dto.TimeSlotDTO;
 import com.booking.venuebooking.dto.VenueDTO;
+import com.booking.venuebooking.service.AvailabilityGrid;
+import com.booking.venuebooking.service.AvailabilityStream;
+import com.booking.venuebooking.service.TimeSlotService;
 import com.booking.venuebooking.service.VenueService;
+import com.booking.venuebooking.service.VenueVersions;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/venues")
@@ -18,6 +30,10 @@ import java.util.List;
 public class VenueController {
 
     private final VenueService venueService;
+    private final TimeSlotService timeSlotService;
+    private final AvailabilityGrid availabilityGrid;
+    private final AvailabilityStream availabilityStream;
+    private final VenueVersions venueVersions;
 
     @PostMapping
     public ResponseEntity<VenueDTO> createVenue(@Valid @RequestBody VenueDTO dto) {
@@ -26,13 +42,26 @@ public class VenueController {
     }
 
     @GetMapping
-    public ResponseEntity<List<VenueDTO>> getAllVenues() {
-        List<VenueDTO> venues = venueService.getAllVenues();
+    public ResponseEntity<CursorPage<VenueDTO>> getVenues(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String sportId,
+            WebRequest request) {
+
+        // Answered from the in-memory stamp, before any query or mapping
+        if (request.checkNotModified(venueVersions.catalog().etag())) {
+            return null;
+        }
+        CursorPage<VenueDTO> venues = venueService.getVenues(cursor, size, sportId);
         return ResponseEntity.ok(venues);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<VenueDTO> getVenueById(@PathVariable Long id) {
+    public ResponseEntity<VenueDTO> getVenueById(@PathVariable Long id, WebRequest request) {
+        Optional<VenueVersions.Stamp> stamp = venueVersions.venue(id);
+        if (stamp.isPresent() && request.checkNotModified(stamp.get().etag(), stamp.get().lastModified())) {
+            return null;
+        }
         VenueDTO venue = venueService.getVenueById(id);
         return ResponseEntity.ok(venue);
     }
@@ -48,4 +77,34 @@ public class VenueController {
         List<VenueDTO> venues = venueService.getAvailableVenues();
         return ResponseEntity.ok(venues);
     }
+
+    // Free/busy bitmaps of many venues over a date range in one compact response
+    @GetMapping("/availability-grid")
+    public ResponseEntity<AvailabilityGridDTO> getAvailabilityGrid(
+            @RequestParam List<Long> venueIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        AvailabilityGridDTO grid = availabilityGrid.grid(venueIds, from, to);
+        return ResponseEntity.ok(grid);
+    }
+
+    // Server-Sent Events: ready, then slots (JSON array of slot deltas) and resync events
+    @GetMapping(path = "/availability-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(
+            @RequestParam(required = false) List<Long> venueIds,
+            @RequestParam(required = false) String sportId) {
+
+        return availabilityStream.subscribe(venueIds == null ? List.of() : venueIds, sportId);
+    }
+
+    @GetMapping("/available-slots")
+    public ResponseEntity<List<TimeSlotDTO>> getAvailableSlots(
+            @RequestParam String sportId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+
+        List<TimeSlotDTO> slots = timeSlotService.getAvailableSlots(sportId, startTime, endTime);
+        return ResponseEntity.ok(slots);
+    }
 }
\ No newline at end of file
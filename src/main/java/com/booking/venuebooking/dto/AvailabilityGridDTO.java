@@ -0,0 +1,35 @@
+package com.booking.venuebooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Free/busy grid of several venues over [from, to] (whole days).
+ *
+ * Each day is a base64 string of 12 bytes, one bit per {@code cellMinutes} cell starting at
+ * midnight: bit k of byte i is cell 8i+k. A cell is set in {@code free} when an available
+ * slot covers it, and in {@code busy} when a booked or held slot covers it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityGridDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private int cellMinutes;
+    private List<VenueAvailability> venues;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class VenueAvailability {
+        private Long venueId;
+        // One entry per day, from first to last
+        private List<String> free;
+        private List<String> busy;
+    }
+}
@@ -27,6 +27,15 @@ public class BookingDTO {
     private String customerPhone;
     private String status;
     private LocalDateTime bookingDate;
+    private LocalDateTime holdExpiresAt;
     private TimeSlotDTO slot;
+
+    // Constructor projection of a booking row and its slot, so reads load no entities
+    public BookingDTO(Long id, Long slotId, String customerName, String customerEmail, String customerPhone,
+                      Enum<?> status, LocalDateTime bookingDate, LocalDateTime holdExpiresAt,
+                      Long venueId, LocalDateTime startTime, LocalDateTime endTime, Boolean isAvailable) {
+        this(id, slotId, customerName, customerEmail, customerPhone, status.name(), bookingDate, holdExpiresAt,
+                new TimeSlotDTO(slotId, venueId, startTime, endTime, isAvailable));
+    }
 }
 
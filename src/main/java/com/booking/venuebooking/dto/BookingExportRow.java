@@ -0,0 +1,19 @@
+package com.booking.venuebooking.dto;
+
+import java.time.LocalDateTime;
+
+// Flat booking + slot row as read from the export cursor
+public record BookingExportRow(
+        Long id,
+        Long slotId,
+        Long venueId,
+        String customerName,
+        String customerEmail,
+        String customerPhone,
+        String status,
+        LocalDateTime bookingDate,
+        LocalDateTime cancelledAt,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {
+}
@@ -0,0 +1,20 @@
+package com.booking.venuebooking.dto;
+
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Explicit slots, a recurrence rule, or both
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSlotRequest {
+    @Valid
+    private List<TimeSlotDTO> slots;
+
+    @Valid
+    private RecurrenceRule recurrence;
+}
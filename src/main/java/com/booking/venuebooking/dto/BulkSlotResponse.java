@@ -0,0 +1,17 @@
+package com.booking.venuebooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSlotResponse {
+    private Long venueId;
+    private Integer createdCount;
+    private LocalDateTime firstStartTime;
+    private LocalDateTime lastEndTime;
+}
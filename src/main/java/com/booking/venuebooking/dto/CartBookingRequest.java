@@ -0,0 +1,29 @@
+package com.booking.venuebooking.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Books every listed slot for one customer, or none of them
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartBookingRequest {
+    @NotEmpty(message = "At least one slot ID is required")
+    private List<@NotNull(message = "Slot ID is required") Long> slotIds;
+
+    @NotBlank(message = "Customer name is required")
+    private String customerName;
+
+    @NotBlank(message = "Customer email is required")
+    @Email(message = "Invalid email format")
+    private String customerEmail;
+
+    private String customerPhone;
+}
@@ -0,0 +1,37 @@
+package com.booking.venuebooking.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+// e.g. every day 06:00-22:00 in 60 minute blocks from startDate to endDate (inclusive)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurrenceRule {
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @NotNull(message = "Daily start time is required")
+    private LocalTime dailyStartTime;
+
+    @NotNull(message = "Daily end time is required")
+    private LocalTime dailyEndTime;
+
+    @NotNull(message = "Slot length is required")
+    @Positive(message = "Slot length must be positive")
+    private Integer slotMinutes;
+
+    // Empty means every day
+    private Set<DayOfWeek> daysOfWeek;
+}
@@ -0,0 +1,7 @@
+package com.booking.venuebooking.dto;
+
+import java.time.LocalDateTime;
+
+// Half-open [startTime, endTime) of a slot, without identity
+public record SlotInterval(LocalDateTime startTime, LocalDateTime endTime) {
+}
@@ -0,0 +1,40 @@
+package com.booking.venuebooking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Slot moved out of time_slots by the retention job; ids are kept from the hot table
+@Entity
+@Table(name = "time_slots_archive", indexes = {
+        @Index(name = "idx_archive_venue_time", columnList = "venue_id, start_time")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTimeSlot {
+
+    @Id
+    private Long id;
+
+    @Column(name = "venue_id", nullable = false)
+    private Long venueId;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(name = "is_available", nullable = false)
+    private Boolean isAvailable;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
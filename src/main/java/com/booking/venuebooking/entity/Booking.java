@@ -9,7 +9,9 @@ import java.time.LocalDateTime;
 @Table(name = "bookings", indexes = {
         @Index(name = "idx_customer_email", columnList = "customer_email"),
         @Index(name = "idx_status", columnList = "status"),
-        @Index(name = "idx_slot_id", columnList = "slot_id")
+        @Index(name = "idx_slot_id", columnList = "slot_id"),
+        @Index(name = "idx_booking_date", columnList = "booking_date"),
+        @Index(name = "idx_status_hold_expiry", columnList = "status, hold_expires_at")
 })
 @Data
 @NoArgsConstructor
@@ -41,6 +43,10 @@ public class Booking {
     @Column(name = "booking_date", nullable = false, updatable = false)
     private LocalDateTime bookingDate;
 
+    // Set while the booking is HELD; the hold is released when it passes
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     @Column(name = "cancelled_at")
     private LocalDateTime cancelledAt;
 
@@ -63,7 +69,9 @@ public class Booking {
     }
 
     public enum BookingStatus {
+        HELD,
         CONFIRMED,
-        CANCELLED
+        CANCELLED,
+        EXPIRED
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.booking.venuebooking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Single row written on the primary; its value on a replica shows how far that replica has caught up
+@Entity
+@Table(name = "replica_heartbeat")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicaHeartbeat {
+
+    @Id
+    private Integer id;
+
+    // Epoch millis of the primary's last heartbeat
+    @Column(name = "beat_at", nullable = false)
+    private Long beatAt;
+}
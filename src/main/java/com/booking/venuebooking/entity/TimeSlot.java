@@ -12,7 +12,8 @@ import java.util.List;
 @Table(name = "time_slots",
         indexes = {
                 @Index(name = "idx_venue_time", columnList = "venue_id, start_time, end_time"),
-                @Index(name = "idx_availability", columnList = "venue_id, is_available")
+                @Index(name = "idx_availability", columnList = "venue_id, is_available"),
+                @Index(name = "idx_available_end", columnList = "is_available, end_time")
         },
         uniqueConstraints = {
                 @UniqueConstraint(name = "unique_venue_time", columnNames = {"venue_id", "start_time", "end_time"})
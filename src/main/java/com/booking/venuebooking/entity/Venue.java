@@ -37,6 +37,14 @@ public class Venue {
     @OneToMany(mappedBy = "venue", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<TimeSlot> timeSlots = new ArrayList<>();
 
+    // Denormalized count of available slots, recounted by VenueSlotCounts shortly after slot changes commit
+    @Column(name = "available_slots_count", nullable = false)
+    private Integer availableSlotsCount = 0;
+
+    // Bumped with every counter write of the venue; drives the ETags of its resources
+    @Column(name = "data_version", nullable = false)
+    private Long dataVersion = 0L;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
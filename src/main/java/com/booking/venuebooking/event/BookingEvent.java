@@ -0,0 +1,36 @@
+package com.booking.venuebooking.event;
+
+import com.booking.venuebooking.entity.Booking;
+import com.booking.venuebooking.entity.TimeSlot;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of a booking outbox event, written in the transaction that confirms or
+ * cancels the booking and delivered later by the outbox dispatcher.
+ */
+@Value
+public class BookingEvent {
+    Type type;
+    Long bookingId;
+    Long slotId;
+    Long venueId;
+    String customerName;
+    String customerEmail;
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+    LocalDateTime occurredAt;
+
+    public static BookingEvent of(Booking booking, Type type) {
+        TimeSlot slot = booking.getTimeSlot();
+        return new BookingEvent(type, booking.getId(), slot.getId(), slot.getVenue().getId(),
+                booking.getCustomerName(), booking.getCustomerEmail(),
+                slot.getStartTime(), slot.getEndTime(), LocalDateTime.now());
+    }
+
+    public enum Type {
+        BOOKING_CREATED,
+        BOOKING_CANCELLED
+    }
+}
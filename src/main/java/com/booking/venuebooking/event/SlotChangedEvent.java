@@ -0,0 +1,38 @@
+package com.booking.venuebooking.event;
+
+import com.booking.venuebooking.entity.TimeSlot;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published inside the transaction that changes a slot's availability.
+ * Listeners use {@code @TransactionalEventListener} so they only see committed changes.
+ */
+@Value
+public class SlotChangedEvent {
+    Long slotId;
+    Long venueId;
+    String sportId;
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+    Change change;
+
+    public static SlotChangedEvent of(TimeSlot slot, Change change) {
+        return new SlotChangedEvent(slot.getId(), slot.getVenue().getId(), slot.getVenue().getSportId(),
+                slot.getStartTime(), slot.getEndTime(), change);
+    }
+
+    public boolean isAvailable() {
+        return change == Change.CREATED || change == Change.RELEASED;
+    }
+
+    public enum Change {
+        CREATED,
+        HELD,
+        BOOKED,
+        RELEASED,
+        // Ended without being booked; marked unavailable by the retention job
+        EXPIRED
+    }
+}
@@ -0,0 +1,18 @@
+package com.booking.venuebooking.event;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published once per bulk slot creation instead of one {@link SlotChangedEvent} per slot.
+ * The range spans the first start to the last end of the batch.
+ */
+@Value
+public class SlotsBulkCreatedEvent {
+    Long venueId;
+    String sportId;
+    LocalDateTime firstStartTime;
+    LocalDateTime lastEndTime;
+    int count;
+}
@@ -0,0 +1,20 @@
+package com.booking.venuebooking.event;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published once per venue per retention batch for the slots it archived, the counterpart
+ * of {@link SlotsBulkCreatedEvent}. The range spans the first start to the last end of the
+ * removed slots.
+ */
+@Value
+public class SlotsBulkRemovedEvent {
+    Long venueId;
+    String sportId;
+    LocalDateTime firstStartTime;
+    LocalDateTime lastEndTime;
+    List<Long> slotIds;
+}
@@ -0,0 +1,12 @@
+package com.booking.venuebooking.event;
+
+import lombok.Value;
+
+/**
+ * Published inside the transaction that creates a venue.
+ */
+@Value
+public class VenueCreatedEvent {
+    Long venueId;
+    String sportId;
+}
@@ -0,0 +1,12 @@
+package com.booking.venuebooking.event;
+
+import lombok.Value;
+
+/**
+ * Published inside the transaction that deletes a venue together with its slots.
+ */
+@Value
+public class VenueDeletedEvent {
+    Long venueId;
+    String sportId;
+}
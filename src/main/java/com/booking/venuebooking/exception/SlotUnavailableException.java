@@ -0,0 +1,7 @@
+package com.booking.venuebooking.exception;
+
+public class SlotUnavailableException extends BookingException {
+    public SlotUnavailableException(String message) {
+        super(message);
+    }
+}
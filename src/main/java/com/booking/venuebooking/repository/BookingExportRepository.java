@@ -0,0 +1,54 @@
+package com.booking.venuebooking.repository;
+
+import com.booking.venuebooking.dto.BookingExportRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only JDBC cursor over bookings for exports. Rows are handed to the consumer
+ * one at a time and never collected, so memory stays flat regardless of row count.
+ *
+ * With MySQL Connector/J a fetch size of Integer.MIN_VALUE streams rows from the server
+ * instead of buffering the whole result set in the driver.
+ */
+@Repository
+public class BookingExportRepository {
+
+    private static final String EXPORT_SQL =
+            "SELECT b.id, b.slot_id, ts.venue_id, b.customer_name, b.customer_email, b.customer_phone, " +
+                    "b.status, b.booking_date, b.cancelled_at, ts.start_time, ts.end_time " +
+                    "FROM bookings b JOIN time_slots ts ON ts.id = b.slot_id " +
+                    "WHERE b.booking_date >= ? AND b.booking_date < ? " +
+                    "ORDER BY b.booking_date, b.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingExportRepository(DataSource dataSource,
+                                   @Value("${bookings.export.fetch-size:-2147483648}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public void streamBookings(LocalDateTime from, LocalDateTime to, Consumer<BookingExportRow> consumer) {
+        jdbcTemplate.query(EXPORT_SQL, rs -> {
+            consumer.accept(new BookingExportRow(
+                    rs.getLong(1),
+                    rs.getLong(2),
+                    rs.getLong(3),
+                    rs.getString(4),
+                    rs.getString(5),
+                    rs.getString(6),
+                    rs.getString(7),
+                    rs.getObject(8, LocalDateTime.class),
+                    rs.getObject(9, LocalDateTime.class),
+                    rs.getObject(10, LocalDateTime.class),
+                    rs.getObject(11, LocalDateTime.class)
+            ));
+        }, from, to);
+    }
+}
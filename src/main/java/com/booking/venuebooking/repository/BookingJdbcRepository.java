@@ -0,0 +1,41 @@
+package com.booking.venuebooking.repository;
+
+import com.booking.venuebooking.dto.CartBookingRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC access to bookings for multi-row writes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts one CONFIRMED booking per slot in a single JDBC batch; with
+     * rewriteBatchedStatements it goes out as one multi-row INSERT.
+     */
+    public int batchInsertConfirmed(List<Long> slotIds, CartBookingRequest customer) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO bookings (slot_id, customer_name, customer_email, customer_phone, status, " +
+                        "booking_date, created_at, updated_at) VALUES (?, ?, ?, ?, 'CONFIRMED', ?, ?, ?)",
+                slotIds, slotIds.size(), (ps, slotId) -> {
+                    ps.setLong(1, slotId);
+                    ps.setString(2, customer.getCustomerName());
+                    ps.setString(3, customer.getCustomerEmail());
+                    ps.setString(4, customer.getCustomerPhone());
+                    ps.setTimestamp(5, now);
+                    ps.setTimestamp(6, now);
+                    ps.setTimestamp(7, now);
+                });
+        return slotIds.size();
+    }
+}
@@ -1,22 +1,79 @@
 package com.booking.venuebooking.repository;
 
+import com.booking.venuebooking.dto.BookingDTO;
 import com.booking.venuebooking.entity.Booking;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByCustomerEmail(String email);
+
+    // Columns of BookingDTO from bookings joined to time_slots; the venue id is the slot's foreign key
+    String BOOKING_DTO = "SELECT new com.booking.venuebooking.dto.BookingDTO(b.id, ts.id, b.customerName, " +
+            "b.customerEmail, b.customerPhone, b.status, b.bookingDate, b.holdExpiresAt, " +
+            "ts.venue.id, ts.startTime, ts.endTime, ts.isAvailable) FROM Booking b JOIN b.timeSlot ts ";
+
+    // Newest first, keyset on id
+    @Query(BOOKING_DTO +
+            "WHERE b.id < :beforeId " +
+            "AND (:status IS NULL OR b.status = :status) " +
+            "AND (:customerEmail IS NULL OR b.customerEmail = :customerEmail) " +
+            "AND (:venueId IS NULL OR ts.venue.id = :venueId) " +
+            "ORDER BY b.id DESC")
+    List<BookingDTO> findPage(@Param("beforeId") Long beforeId,
+                           @Param("status") Booking.BookingStatus status,
+                           @Param("customerEmail") String customerEmail,
+                           @Param("venueId") Long venueId,
+                           Limit limit);
+
+    @Query(BOOKING_DTO + "WHERE b.id = :id")
+    Optional<BookingDTO> findDTOById(@Param("id") Long id);
 
     Optional<Booking> findByTimeSlotId(Long slotId);
 
     @Query("SELECT b FROM Booking b WHERE b.timeSlot.id = :slotId AND b.status = 'CONFIRMED'")
     Optional<Booking> findActiveBookingBySlotId(@Param("slotId") Long slotId);
 
+    @Query("SELECT b.timeSlot.id FROM Booking b WHERE b.timeSlot.id IN :slotIds AND b.status = 'CONFIRMED'")
+    List<Long> findActiveSlotIds(@Param("slotIds") Collection<Long> slotIds);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.timeSlot ts WHERE ts.id IN :slotIds AND b.status = 'CONFIRMED' " +
+            "ORDER BY ts.id")
+    List<Booking> findActiveBySlotIds(@Param("slotIds") Collection<Long> slotIds);
+
     List<Booking> findByStatus(Booking.BookingStatus status);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.timeSlot ts JOIN FETCH ts.venue WHERE b.id = :id")
+    Optional<Booking> findWithSlotById(@Param("id") Long id);
+
+    // Only a hold that has not yet expired can be confirmed; a single row update, no slot or venue write
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'CONFIRMED', b.holdExpiresAt = NULL, b.updatedAt = :now " +
+            "WHERE b.id = :id AND b.status = 'HELD' AND b.holdExpiresAt > :now")
+    int confirmHold(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Locks the booking before its slot, so concurrent cancels see each other's status change
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b JOIN FETCH b.timeSlot WHERE b.id = :id")
+    Optional<Booking> findByIdWithLock(@Param("id") Long id);
+
+    // Held bookings are locked in id order, before their slots, as in every other hold path
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.status = 'HELD' ORDER BY b.id")
+    List<Booking> findHeldByIdWithLock(@Param("ids") Collection<Long> ids);
+
+    // Oldest overdue holds first; served by idx_status_hold_expiry
+    @Query("SELECT b.id FROM Booking b WHERE b.status = 'HELD' AND b.holdExpiresAt <= :now ORDER BY b.holdExpiresAt")
+    List<Long> findOverdueHoldIds(@Param("now") LocalDateTime now, Limit limit);
 }
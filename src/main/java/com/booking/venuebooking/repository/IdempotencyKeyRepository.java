@@ -0,0 +1,59 @@
+package com.booking.venuebooking.repository;
+
+import com.booking.venuebooking.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    // Claims a key before its booking runs; 0 when the key already has a row
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO idempotency_keys (idempotency_key, request_hash, booking_id, created_at, expires_at) " +
+            "VALUES (:key, :requestHash, NULL, :createdAt, :expiresAt)", nativeQuery = true)
+    int claim(@Param("key") String key,
+              @Param("requestHash") String requestHash,
+              @Param("createdAt") LocalDateTime createdAt,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Takes over an expired key, or a claim whose booking never committed (e.g. its instance died)
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE idempotency_keys SET request_hash = :requestHash, booking_id = NULL, " +
+            "created_at = :createdAt, expires_at = :expiresAt WHERE idempotency_key = :key " +
+            "AND (expires_at < :createdAt OR (booking_id IS NULL AND created_at < :abandonedBefore))", nativeQuery = true)
+    int reclaim(@Param("key") String key,
+                @Param("requestHash") String requestHash,
+                @Param("createdAt") LocalDateTime createdAt,
+                @Param("expiresAt") LocalDateTime expiresAt,
+                @Param("abandonedBefore") LocalDateTime abandonedBefore);
+
+    // Runs inside the booking transaction; created_at identifies the claim, so a claim taken over meanwhile matches nothing
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE idempotency_keys SET booking_id = :bookingId WHERE idempotency_key = :key " +
+            "AND created_at = :createdAt AND booking_id IS NULL", nativeQuery = true)
+    int complete(@Param("key") String key,
+                 @Param("createdAt") LocalDateTime createdAt,
+                 @Param("bookingId") Long bookingId);
+
+    // Drops a claim whose booking failed, so a retry runs the booking again
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM idempotency_keys WHERE idempotency_key = :key " +
+            "AND created_at = :createdAt AND booking_id IS NULL", nativeQuery = true)
+    int release(@Param("key") String key, @Param("createdAt") LocalDateTime createdAt);
+
+    // Bounded delete so a large backlog of expired keys never holds locks for long
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at < :now LIMIT :batchSize", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
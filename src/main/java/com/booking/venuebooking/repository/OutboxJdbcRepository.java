@@ -0,0 +1,84 @@
+package com.booking.venuebooking.repository;
+
+import com.booking.venuebooking.entity.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC access to outbox_events: batched appends from the write path and the
+ * dispatcher's pending scan, both served by (dispatched_at, id).
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Joins the caller's transaction, so the events commit or roll back with the booking
+    public void append(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO outbox_events (event_type, aggregate_id, venue_id, payload, created_at, attempts) " +
+                        "VALUES (?, ?, ?, ?, ?, 0)",
+                events, events.size(), (ps, event) -> {
+                    ps.setString(1, event.getEventType());
+                    ps.setLong(2, event.getAggregateId());
+                    ps.setLong(3, event.getVenueId());
+                    ps.setString(4, event.getPayload());
+                    ps.setTimestamp(5, Timestamp.valueOf(event.getCreatedAt()));
+                });
+    }
+
+    // Oldest undelivered events first
+    public List<OutboxEvent> findPending(int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, event_type, aggregate_id, venue_id, payload, created_at, attempts FROM outbox_events " +
+                        "WHERE dispatched_at IS NULL ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new OutboxEvent(rs.getLong("id"), rs.getString("event_type"),
+                        rs.getLong("aggregate_id"), rs.getLong("venue_id"), rs.getString("payload"),
+                        rs.getTimestamp("created_at").toLocalDateTime(), null, null, rs.getInt("attempts")),
+                limit);
+    }
+
+    // Highest id below {@code id}, 0 if none; a primary key range read
+    public long findMaxIdBefore(long id) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM outbox_events WHERE id < ?", Long.class, id);
+        return max == null ? 0 : max;
+    }
+
+    // Rows with fromId <= id < toId, committed ones only
+    public long countBetween(long fromId, long toId) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE id >= ? AND id < ?",
+                Long.class, fromId, toId);
+        return count == null ? 0 : count;
+    }
+
+    public void markDispatched(List<Long> ids, LocalDateTime dispatchedAt) {
+        Timestamp at = Timestamp.valueOf(dispatchedAt);
+        jdbcTemplate.batchUpdate("UPDATE outbox_events SET dispatched_at = ? WHERE id = ?",
+                ids, ids.size(), (ps, id) -> {
+                    ps.setTimestamp(1, at);
+                    ps.setLong(2, id);
+                });
+    }
+
+    public void recordFailure(long id) {
+        jdbcTemplate.update("UPDATE outbox_events SET attempts = attempts + 1 WHERE id = ?", id);
+    }
+
+    // Takes the event out of the pending scan but keeps it, for inspection and requeueing
+    public void markDeadLettered(long id, LocalDateTime at) {
+        jdbcTemplate.update("UPDATE outbox_events SET dispatched_at = ?, dead_lettered_at = ? WHERE id = ?",
+                Timestamp.valueOf(at), Timestamp.valueOf(at), id);
+    }
+
+    // Bounded delete so a large backlog never holds locks for long; dead letters are kept
+    public int deleteDispatchedBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update("DELETE FROM outbox_events WHERE dispatched_at < ? AND dead_lettered_at IS NULL LIMIT ?",
+                Timestamp.valueOf(cutoff), limit);
+    }
+}
@@ -0,0 +1,122 @@
+package com.booking.venuebooking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plain JDBC batches for the retention job. Each call is one short transaction over at
+ * most {@code limit} slots. Candidates are read without locks in (is_available, end_time)
+ * index order, then locked by primary key with the filter checked again, so a batch locks
+ * only its own rows and never the gaps of the backlog behind it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RetentionJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record SlotRef(long id, long venueId, String sportId, LocalDateTime startTime, LocalDateTime endTime) {
+    }
+
+    public record ArchivedBatch(List<SlotRef> slots, int bookings) {
+    }
+
+    /**
+     * Marks slots that ended at or before {@code now} and were never booked as unavailable.
+     * Served by (is_available, end_time).
+     *
+     * @return the slots that were expired
+     */
+    @Transactional
+    public List<SlotRef> expireEnded(LocalDateTime now, int limit) {
+        List<SlotRef> slots = pickAndLock("ts.is_available = TRUE AND ts.end_time <= ?", Timestamp.valueOf(now), limit);
+        if (slots.isEmpty()) {
+            return slots;
+        }
+
+        jdbcTemplate.update("UPDATE time_slots SET is_available = FALSE WHERE id IN (" + placeholders(slots) + ")",
+                slots.stream().map(SlotRef::id).toArray());
+        return slots;
+    }
+
+    /**
+     * Copies unavailable slots that ended before {@code cutoff}, with all their bookings,
+     * into the archive tables and deletes them from the hot tables. Slots still carrying
+     * a HELD booking are left for the hold expiry to settle first.
+     */
+    @Transactional
+    public ArchivedBatch archiveEndedBefore(LocalDateTime cutoff, LocalDateTime archivedAt, int limit) {
+        List<SlotRef> slots = pickAndLock("ts.is_available = FALSE AND ts.end_time < ? AND NOT EXISTS " +
+                "(SELECT 1 FROM bookings b WHERE b.slot_id = ts.id AND b.status = 'HELD')", Timestamp.valueOf(cutoff), limit);
+        if (slots.isEmpty()) {
+            return new ArchivedBatch(slots, 0);
+        }
+        String in = placeholders(slots);
+        Object[] ids = slots.stream().map(SlotRef::id).toArray();
+        Object[] withArchivedAt = new Object[ids.length + 1];
+        withArchivedAt[0] = Timestamp.valueOf(archivedAt);
+        System.arraycopy(ids, 0, withArchivedAt, 1, ids.length);
+
+        jdbcTemplate.update(
+                "INSERT INTO time_slots_archive (id, venue_id, start_time, end_time, is_available, created_at, archived_at) " +
+                        "SELECT id, venue_id, start_time, end_time, is_available, created_at, ? " +
+                        "FROM time_slots WHERE id IN (" + in + ")",
+                withArchivedAt);
+        int bookings = jdbcTemplate.update(
+                "INSERT INTO bookings_archive (id, slot_id, slot_start_time, customer_name, customer_email, " +
+                        "customer_phone, status, booking_date, cancelled_at, created_at, updated_at, archived_at) " +
+                        "SELECT b.id, b.slot_id, ts.start_time, b.customer_name, b.customer_email, b.customer_phone, " +
+                        "b.status, b.booking_date, b.cancelled_at, b.created_at, b.updated_at, ? " +
+                        "FROM bookings b JOIN time_slots ts ON ts.id = b.slot_id WHERE b.slot_id IN (" + in + ")",
+                withArchivedAt);
+
+        // Children first: the hot tables keep their foreign keys
+        jdbcTemplate.update("DELETE FROM bookings WHERE slot_id IN (" + in + ")", ids);
+        jdbcTemplate.update("DELETE FROM time_slots WHERE id IN (" + in + ")", ids);
+        return new ArchivedBatch(slots, bookings);
+    }
+
+    /**
+     * Reads up to {@code limit} slots matching {@code filter} (over time_slots ts, one
+     * parameter) in index order without locks, then locks those that still match by
+     * primary key, in id order. Slots changed in between are left for the next batch.
+     */
+    private List<SlotRef> pickAndLock(String filter, Object filterArg, int limit) {
+        List<SlotRef> candidates = jdbcTemplate.query(
+                "SELECT ts.id, ts.venue_id, v.sport_id, ts.start_time, ts.end_time FROM time_slots ts " +
+                        "JOIN venues v ON v.id = ts.venue_id WHERE " + filter + " ORDER BY ts.end_time, ts.id LIMIT ?",
+                RetentionJdbcRepository::slotRef, filterArg, limit);
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        Object[] args = new Object[candidates.size() + 1];
+        for (int i = 0; i < candidates.size(); i++) {
+            args[i] = candidates.get(i).id();
+        }
+        args[candidates.size()] = filterArg;
+        Set<Long> locked = Set.copyOf(jdbcTemplate.queryForList(
+                "SELECT ts.id FROM time_slots ts WHERE ts.id IN (" + placeholders(candidates) + ") AND " + filter +
+                        " ORDER BY ts.id FOR UPDATE",
+                Long.class, args));
+        return candidates.stream().filter(slot -> locked.contains(slot.id())).toList();
+    }
+
+    private static SlotRef slotRef(ResultSet rs, int rowNum) throws SQLException {
+        return new SlotRef(rs.getLong("id"), rs.getLong("venue_id"), rs.getString("sport_id"),
+                rs.getTimestamp("start_time").toLocalDateTime(), rs.getTimestamp("end_time").toLocalDateTime());
+    }
+
+    private static String placeholders(List<?> values) {
+        return String.join(", ", Collections.nCopies(values.size(), "?"));
+    }
+}
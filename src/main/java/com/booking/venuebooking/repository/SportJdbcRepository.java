@@ -0,0 +1,38 @@
+package com.booking.venuebooking.repository;
+
+import com.booking.venuebooking.dto.SportDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC access to sports for the catalog sync.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SportJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts or updates sports by sport_id in one JDBC batch; with
+     * rewriteBatchedStatements it goes out as one multi-row INSERT.
+     */
+    public int batchUpsert(List<SportDTO> sports) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO sports (sport_id, sport_code, sport_name, created_at) VALUES (?, ?, ?, ?) " +
+                        "ON DUPLICATE KEY UPDATE sport_code = VALUES(sport_code), sport_name = VALUES(sport_name)",
+                sports, sports.size(), (ps, sport) -> {
+                    ps.setString(1, sport.getSport_id());
+                    ps.setString(2, sport.getSport_code());
+                    ps.setString(3, sport.getSport_name());
+                    ps.setTimestamp(4, now);
+                });
+        return sports.size();
+    }
+}
@@ -0,0 +1,105 @@
+package com.booking.venuebooking.repository;
+
+import com.booking.venuebooking.dto.SlotInterval;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Plain JDBC access to time_slots for bulk paths that should not hydrate entities.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TimeSlotJdbcRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts available slots in JDBC batches of {@value #BATCH_SIZE}; with
+     * rewriteBatchedStatements each batch goes out as one multi-row INSERT.
+     */
+    public int batchInsert(Long venueId, List<SlotInterval> intervals) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO time_slots (venue_id, start_time, end_time, is_available, created_at) " +
+                        "VALUES (?, ?, ?, TRUE, ?)",
+                intervals, BATCH_SIZE, (ps, interval) -> {
+                    ps.setLong(1, venueId);
+                    ps.setTimestamp(2, Timestamp.valueOf(interval.startTime()));
+                    ps.setTimestamp(3, Timestamp.valueOf(interval.endTime()));
+                    ps.setTimestamp(4, now);
+                });
+        return intervals.size();
+    }
+
+    /**
+     * Streams (venue_id, start_time, end_time) of every slot row by row.
+     */
+    public void forEachInterval(IntervalConsumer consumer) {
+        jdbcTemplate.query("SELECT venue_id, start_time, end_time FROM time_slots", rs -> {
+            consumer.accept(
+                    rs.getLong(1),
+                    rs.getObject(2, LocalDateTime.class),
+                    rs.getObject(3, LocalDateTime.class)
+            );
+        });
+    }
+
+    public void forEachUnavailableSlotId(LongConsumer consumer) {
+        jdbcTemplate.query("SELECT id FROM time_slots WHERE is_available = FALSE",
+                rs -> {
+                    consumer.accept(rs.getLong(1));
+                });
+    }
+
+    /**
+     * Streams every slot that ends after {@code from}, with its availability. Unavailable
+     * slots without a held or confirmed booking were expired by retention and are left out.
+     */
+    public void forEachSlotEndingAfter(LocalDateTime from, SlotConsumer consumer) {
+        jdbcTemplate.query("SELECT id, venue_id, start_time, end_time, is_available FROM time_slots ts " +
+                "WHERE end_time > ? AND (is_available = TRUE OR EXISTS (SELECT 1 FROM bookings b " +
+                "WHERE b.slot_id = ts.id AND b.status IN ('HELD', 'CONFIRMED')))", rs -> {
+            acceptSlot(rs, consumer);
+        }, from);
+    }
+
+    /**
+     * Streams the slots of one venue that start in [from, to), with their availability.
+     */
+    public void forEachVenueSlot(Long venueId, LocalDateTime from, LocalDateTime to, SlotConsumer consumer) {
+        jdbcTemplate.query("SELECT id, venue_id, start_time, end_time, is_available FROM time_slots " +
+                "WHERE venue_id = ? AND start_time >= ? AND start_time < ?", rs -> {
+            acceptSlot(rs, consumer);
+        }, venueId, from, to);
+    }
+
+    private static void acceptSlot(ResultSet rs, SlotConsumer consumer) throws SQLException {
+        consumer.accept(
+                rs.getLong(1),
+                rs.getLong(2),
+                rs.getObject(3, LocalDateTime.class),
+                rs.getObject(4, LocalDateTime.class),
+                rs.getBoolean(5)
+        );
+    }
+
+    @FunctionalInterface
+    public interface SlotConsumer {
+        void accept(long slotId, long venueId, LocalDateTime startTime, LocalDateTime endTime, boolean available);
+    }
+
+    @FunctionalInterface
+    public interface IntervalConsumer {
+        void accept(Long venueId, LocalDateTime startTime, LocalDateTime endTime);
+    }
+}
@@ -1,20 +1,26 @@
 package com.booking.venuebooking.repository;
 
+import com.booking.venuebooking.dto.TimeSlotDTO;
 import com.booking.venuebooking.entity.TimeSlot;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {
 
+    String SLOT_DTO = "SELECT new com.booking.venuebooking.dto.TimeSlotDTO(ts.id, ts.venue.id, ts.startTime, " +
+            "ts.endTime, ts.isAvailable) FROM TimeSlot ts ";
+
     @Query("SELECT COUNT(ts) > 0 FROM TimeSlot ts WHERE ts.venue.id = :venueId " +
             "AND ((ts.startTime < :endTime AND ts.endTime > :startTime))")
     boolean existsOverlappingSlot(@Param("venueId") Long venueId,
@@ -25,12 +31,24 @@ public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {
     @Query("SELECT ts FROM TimeSlot ts WHERE ts.id = :id")
     Optional<TimeSlot> findByIdWithLock(@Param("id") Long id);
 
+    // Rows are locked in primary key order, so carts with overlapping slots cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ts FROM TimeSlot ts WHERE ts.id IN :ids ORDER BY ts.id")
+    List<TimeSlot> findAllByIdWithLock(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE TimeSlot ts SET ts.isAvailable = false WHERE ts.id = :id AND ts.isAvailable = true")
+    int claimSlot(@Param("id") Long id);
+
     List<TimeSlot> findByVenueId(Long venueId);
 
-    @Query("SELECT ts FROM TimeSlot ts WHERE ts.venue.sportId = :sportId " +
+    @Query(SLOT_DTO + "WHERE ts.venue.id = :venueId ORDER BY ts.startTime")
+    List<TimeSlotDTO> findDTOsByVenueId(@Param("venueId") Long venueId);
+
+    @Query(SLOT_DTO + "JOIN ts.venue v WHERE v.sportId = :sportId " +
             "AND ts.isAvailable = true AND ts.startTime >= :startTime " +
-            "AND ts.endTime <= :endTime")
-    List<TimeSlot> findAvailableSlotsByTimeRange(@Param("sportId") String sportId,
+            "AND ts.endTime <= :endTime ORDER BY ts.startTime")
+    List<TimeSlotDTO> findAvailableSlotsByTimeRange(@Param("sportId") String sportId,
                                                  @Param("startTime") LocalDateTime startTime,
                                                  @Param("endTime") LocalDateTime endTime);
 }
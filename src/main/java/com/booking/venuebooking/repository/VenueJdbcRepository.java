@@ -0,0 +1,75 @@
+package com.booking.venuebooking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plain JDBC access to the venue version stamps and slot counters. Runs outside any
+ * transaction, so with read replicas enabled it always sees the primary.
+ */
+@Repository
+@RequiredArgsConstructor
+public class VenueJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record VenueVersion(long version, LocalDateTime updatedAt) {
+    }
+
+    // Changes whenever a venue is created, deleted or has its version bumped
+    public record CatalogVersion(long venues, long versionSum, long maxId, LocalDateTime lastUpdatedAt) {
+    }
+
+    public record SlotCount(long venueId, long version, int available) {
+    }
+
+    public Optional<VenueVersion> findVersion(Long venueId) {
+        return jdbcTemplate.query("SELECT data_version, updated_at FROM venues WHERE id = ?",
+                (rs, rowNum) -> {
+                    Timestamp updatedAt = rs.getTimestamp("updated_at");
+                    return new VenueVersion(rs.getLong("data_version"),
+                            updatedAt == null ? null : updatedAt.toLocalDateTime());
+                }, venueId).stream().findFirst();
+    }
+
+    public CatalogVersion findCatalogVersion() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*), COALESCE(SUM(data_version), 0), COALESCE(MAX(id), 0), MAX(updated_at) FROM venues",
+                (rs, rowNum) -> {
+                    Timestamp lastUpdatedAt = rs.getTimestamp(4);
+                    return new CatalogVersion(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                            lastUpdatedAt == null ? null : lastUpdatedAt.toLocalDateTime());
+                });
+    }
+
+    // Available slots per venue, counted on (venue_id, is_available) without locking anything
+    public List<SlotCount> findSlotCounts(List<Long> venueIds) {
+        return jdbcTemplate.query("SELECT v.id, v.data_version, (SELECT COUNT(*) FROM time_slots ts " +
+                        "WHERE ts.venue_id = v.id AND ts.is_available = TRUE) FROM venues v WHERE v.id IN (" +
+                        String.join(", ", Collections.nCopies(venueIds.size(), "?")) + ") ORDER BY v.id",
+                (rs, rowNum) -> new SlotCount(rs.getLong(1), rs.getLong(2), rs.getInt(3)), venueIds.toArray());
+    }
+
+    /**
+     * Writes a count read by {@link #findSlotCounts} and bumps the version.
+     *
+     * @return false when the venue's version moved since the count was read
+     */
+    public boolean writeSlotCount(SlotCount count, LocalDateTime updatedAt) {
+        return jdbcTemplate.update("UPDATE venues SET available_slots_count = ?, data_version = data_version + 1, " +
+                        "updated_at = ? WHERE id = ? AND data_version = ?",
+                count.available(), Timestamp.valueOf(updatedAt), count.venueId(), count.version()) == 1;
+    }
+
+    public List<Long> findIdsAfter(long afterId, int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM venues WHERE id > ? ORDER BY id LIMIT ?",
+                Long.class, afterId, limit);
+    }
+}
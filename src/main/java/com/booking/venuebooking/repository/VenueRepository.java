@@ -1,17 +1,31 @@
 package com.booking.venuebooking.repository;
 
+import com.booking.venuebooking.dto.VenueDTO;
 import com.booking.venuebooking.entity.Venue;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface VenueRepository extends JpaRepository<Venue, Long> {
+
+    String VENUE_DTO = "SELECT new com.booking.venuebooking.dto.VenueDTO(v.id, v.name, v.location, v.sportName, " +
+            "v.sportId, v.availableSlotsCount) FROM Venue v ";
+
     List<Venue> findBySportId(String sportId);
 
-    @Query("SELECT DISTINCT v FROM Venue v LEFT JOIN FETCH v.timeSlots ts " +
-            "WHERE ts.isAvailable = true")
-    List<Venue> findVenuesWithAvailableSlots();
+    @Query(VENUE_DTO + "WHERE v.id > :afterId " +
+            "AND (:sportId IS NULL OR v.sportId = :sportId) ORDER BY v.id")
+    List<VenueDTO> findPage(@Param("afterId") Long afterId, @Param("sportId") String sportId, Limit limit);
+
+    @Query(VENUE_DTO + "WHERE v.id = :id")
+    Optional<VenueDTO> findDTOById(@Param("id") Long id);
+
+    @Query(VENUE_DTO + "WHERE v.availableSlotsCount > 0")
+    List<VenueDTO> findVenuesWithAvailableSlots();
 }
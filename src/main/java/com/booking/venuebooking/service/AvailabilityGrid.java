@@ -0,0 +1,249 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.dto.AvailabilityGridDTO;
+import com.booking.venuebooking.event.SlotChangedEvent;
+import com.booking.venuebooking.event.SlotsBulkCreatedEvent;
+import com.booking.venuebooking.event.SlotsBulkRemovedEvent;
+import com.booking.venuebooking.event.VenueDeletedEvent;
+import com.booking.venuebooking.repository.TimeSlotJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory free/busy bitmaps, one pair of 96-bit masks (15-minute cells) per venue per day,
+ * behind the availability grid endpoint.
+ *
+ * Each day also keeps the cell span of its slots, so a booking or cancellation only
+ * rebuilds that day's masks, and a slot that shares a partial cell with another cannot
+ * clear the other's bits. Committed slot events keep the grid current; a periodic reload
+ * from time_slots picks up changes made by other instances and by retention, and events
+ * that arrive while it loads are replayed onto the loaded grid before it is swapped in.
+ * A slot that ended without being booked is neither free nor busy: its expiry and its
+ * archiving drop its span, and the reload leaves it out.
+ * Days older than {@code availability.grid.retain-days} are not kept.
+ */
+@Slf4j
+@Component
+public class AvailabilityGrid {
+
+    public static final int CELL_MINUTES = 15;
+    private static final int CELL_SECONDS = CELL_MINUTES * 60;
+    private static final int CELLS_PER_DAY = 24 * 60 / CELL_MINUTES;
+
+    private final TimeSlotJdbcRepository timeSlotJdbcRepository;
+    private final int retainDays;
+    private final int maxDays;
+    private final int maxVenues;
+
+    private final Object reloadLock = new Object();
+
+    private volatile Map<Long, Map<LocalDate, Day>> venues = new ConcurrentHashMap<>();
+    // Changes applied while a reload runs; null when none is running
+    private List<Consumer<Map<Long, Map<LocalDate, Day>>>> replay;
+
+    public AvailabilityGrid(TimeSlotJdbcRepository timeSlotJdbcRepository,
+                            @Value("${availability.grid.retain-days:7}") int retainDays,
+                            @Value("${availability.grid.max-days:31}") int maxDays,
+                            @Value("${availability.grid.max-venues:200}") int maxVenues) {
+        this.timeSlotJdbcRepository = timeSlotJdbcRepository;
+        this.retainDays = retainDays;
+        this.maxDays = maxDays;
+        this.maxVenues = maxVenues;
+    }
+
+    public AvailabilityGridDTO grid(List<Long> venueIds, LocalDate from, LocalDate to) {
+        if (venueIds.isEmpty() || venueIds.size() > maxVenues) {
+            throw new IllegalArgumentException("Between 1 and " + maxVenues + " venues may be requested");
+        }
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new IllegalArgumentException("'to' must be within " + maxDays + " days on or after 'from'");
+        }
+        if (from.isBefore(windowStart())) {
+            throw new IllegalArgumentException("Availability is only kept from " + windowStart());
+        }
+
+        Map<Long, Map<LocalDate, Day>> current = venues;
+        List<AvailabilityGridDTO.VenueAvailability> rows = new ArrayList<>(venueIds.size());
+        for (Long venueId : venueIds) {
+            Map<LocalDate, Day> days = current.getOrDefault(venueId, Map.of());
+            List<String> free = new ArrayList<>();
+            List<String> busy = new ArrayList<>();
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                Day day = days.getOrDefault(date, Day.EMPTY);
+                free.add(day.free);
+                busy.add(day.busy);
+            }
+            rows.add(new AvailabilityGridDTO.VenueAvailability(venueId, free, busy));
+        }
+        return new AvailabilityGridDTO(from, to, CELL_MINUTES, rows);
+    }
+
+    @TransactionalEventListener
+    public void onSlotChanged(SlotChangedEvent event) {
+        if (event.getChange() == SlotChangedEvent.Change.EXPIRED) {
+            apply(target -> remove(target, event.getVenueId(), List.of(event.getSlotId()), event.getStartTime(),
+                    event.getEndTime()));
+            return;
+        }
+        apply(target -> put(target, event.getSlotId(), event.getVenueId(), event.getStartTime(), event.getEndTime(),
+                event.isAvailable()));
+    }
+
+    @TransactionalEventListener
+    public void onSlotsBulkCreated(SlotsBulkCreatedEvent event) {
+        // The event only carries the range, so the new slots are read back for that venue
+        List<SlotRow> slots = new ArrayList<>();
+        timeSlotJdbcRepository.forEachVenueSlot(event.getVenueId(), event.getFirstStartTime(), event.getLastEndTime(),
+                (slotId, venueId, start, end, available) -> slots.add(new SlotRow(slotId, start, end, available)));
+        apply(target -> slots.forEach(slot -> put(target, slot.slotId(), event.getVenueId(), slot.start(), slot.end(),
+                slot.available())));
+    }
+
+    @TransactionalEventListener
+    public void onSlotsBulkRemoved(SlotsBulkRemovedEvent event) {
+        apply(target -> remove(target, event.getVenueId(), event.getSlotIds(), event.getFirstStartTime(),
+                event.getLastEndTime()));
+    }
+
+    @TransactionalEventListener
+    public void onVenueDeleted(VenueDeletedEvent event) {
+        apply(target -> target.remove(event.getVenueId()));
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${availability.grid.refresh-interval:PT5M}",
+            initialDelayString = "${availability.grid.refresh-interval:PT5M}")
+    public void refresh() {
+        synchronized (reloadLock) {
+            synchronized (this) {
+                replay = new ArrayList<>();
+            }
+            try {
+                Map<Long, Map<LocalDate, Day>> loaded = new ConcurrentHashMap<>();
+                timeSlotJdbcRepository.forEachSlotEndingAfter(windowStart().atStartOfDay(),
+                        (slotId, venueId, start, end, available) -> put(loaded, slotId, venueId, start, end, available));
+
+                synchronized (this) {
+                    // A change the load already saw sets the same span again
+                    replay.forEach(change -> change.accept(loaded));
+                    log.debug("Reloaded availability grid, replayed {} changes", replay.size());
+                    venues = loaded;
+                }
+            } finally {
+                synchronized (this) {
+                    replay = null;
+                }
+            }
+        }
+    }
+
+    private synchronized void apply(Consumer<Map<Long, Map<LocalDate, Day>>> change) {
+        change.accept(venues);
+        if (replay != null) {
+            replay.add(change);
+        }
+    }
+
+    private LocalDate windowStart() {
+        return LocalDate.now().minusDays(retainDays);
+    }
+
+    private void put(Map<Long, Map<LocalDate, Day>> target, long slotId, long venueId,
+                     LocalDateTime start, LocalDateTime end, boolean available) {
+        LocalDate first = start.toLocalDate();
+        LocalDate last = end.minusNanos(1).toLocalDate();
+        if (last.isBefore(windowStart())) {
+            return;
+        }
+        Map<LocalDate, Day> days = target.computeIfAbsent(venueId, id -> new ConcurrentHashMap<>());
+        for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+            int fromCell = date.equals(first) ? start.toLocalTime().toSecondOfDay() / CELL_SECONDS : 0;
+            int toCell = date.equals(end.toLocalDate()) ? ceilCell(end) : CELLS_PER_DAY;
+            Span span = new Span(fromCell, toCell, available);
+            days.compute(date, (key, day) -> (day == null ? Day.EMPTY : day).with(slotId, span));
+        }
+    }
+
+    // Drops the slots' spans from every day of the venue in [start, end)
+    private static void remove(Map<Long, Map<LocalDate, Day>> target, long venueId, List<Long> slotIds,
+                               LocalDateTime start, LocalDateTime end) {
+        Map<LocalDate, Day> days = target.get(venueId);
+        if (days == null) {
+            return;
+        }
+        LocalDate last = end.minusNanos(1).toLocalDate();
+        for (LocalDate date = start.toLocalDate(); !date.isAfter(last); date = date.plusDays(1)) {
+            days.computeIfPresent(date, (key, day) -> day.without(slotIds));
+        }
+    }
+
+    private static int ceilCell(LocalDateTime time) {
+        int seconds = time.toLocalTime().toSecondOfDay() + (time.getNano() > 0 ? 1 : 0);
+        return (seconds + CELL_SECONDS - 1) / CELL_SECONDS;
+    }
+
+    private record SlotRow(long slotId, LocalDateTime start, LocalDateTime end, boolean available) {
+    }
+
+    private record Span(int fromCell, int toCell, boolean available) {
+    }
+
+    // Immutable; the encoded masks are built once per change, not per request
+    private static final class Day {
+
+        static final Day EMPTY = new Day(Map.of());
+
+        final Map<Long, Span> spans;
+        final String free;
+        final String busy;
+
+        Day(Map<Long, Span> spans) {
+            this.spans = spans;
+            long[] freeMask = new long[2];
+            long[] busyMask = new long[2];
+            for (Span span : spans.values()) {
+                long[] mask = span.available() ? freeMask : busyMask;
+                for (int cell = span.fromCell(); cell < span.toCell(); cell++) {
+                    mask[cell >>> 6] |= 1L << cell;
+                }
+            }
+            this.free = encode(freeMask);
+            this.busy = encode(busyMask);
+        }
+
+        Day with(long slotId, Span span) {
+            Map<Long, Span> copy = new HashMap<>(spans);
+            copy.put(slotId, span);
+            return new Day(copy);
+        }
+
+        Day without(List<Long> slotIds) {
+            Map<Long, Span> copy = new HashMap<>(spans);
+            copy.keySet().removeAll(slotIds);
+            return copy.size() == spans.size() ? this : new Day(copy);
+        }
+
+        private static String encode(long[] mask) {
+            byte[] bytes = new byte[CELLS_PER_DAY / 8];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) (mask[i >>> 3] >>> ((i & 7) * 8));
+            }
+            return Base64.getEncoder().encodeToString(bytes);
+        }
+    }
+}
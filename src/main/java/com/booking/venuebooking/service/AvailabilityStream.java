@@ -0,0 +1,398 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.entity.Sport;
+import com.booking.venuebooking.event.SlotChangedEvent;
+import com.booking.venuebooking.event.SlotsBulkCreatedEvent;
+import com.booking.venuebooking.event.SlotsBulkRemovedEvent;
+import com.booking.venuebooking.event.VenueDeletedEvent;
+import com.booking.venuebooking.exception.ResourceNotFoundException;
+import com.booking.venuebooking.exception.TooManySubscribersException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Pushes slot availability deltas to Server-Sent Events subscribers, by venue or sport.
+ *
+ * Committed slot events are offered to each matching subscriber's bounded queue; the
+ * committing thread never touches a socket. A small sender pool drains a subscriber's
+ * queue only while it has something to send, so idle subscribers cost an emitter and an
+ * empty queue, not a thread. Queued deltas go out as one {@code slots} event with a JSON
+ * array of {@link TimeSlotDTO}s, each carrying the slot's new availability.
+ *
+ * A subscriber whose queue overflows loses its pending deltas and gets a {@code resync}
+ * event instead, as do subscribers of a venue that got slots in bulk or was deleted:
+ * the client refetches the slot list and keeps applying deltas. Clients should fetch
+ * their snapshot after the {@code ready} event so no change falls in between.
+ *
+ * A servlet write blocks while the client's TCP window is full. A write still running
+ * after {@code availability.stream.write-timeout} marks a stalled subscriber: it is
+ * dropped like an overflow, its emitter completes once the write returns (the container's
+ * socket timeout bounds it), and the pool gets an extra thread for as long as the write
+ * blocks, so stalled clients never take sender threads away from the others.
+ */
+@Slf4j
+@Component
+public class AvailabilityStream {
+
+    static final String OVERFLOW = "overflow";
+    static final String BULK_CREATED = "bulk-created";
+    static final String SLOTS_ARCHIVED = "slots-archived";
+    static final String VENUE_DELETED = "venue-deleted";
+    static final String STALLED = "stalled";
+
+    private final SportCatalog sportCatalog;
+    private final Executor sender;
+    private final MeterRegistry meterRegistry;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final int maxVenues;
+    private final Duration timeout;
+    private final Duration writeTimeout;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<Long, Set<Subscriber>> byVenue = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<Subscriber>> bySport = new ConcurrentHashMap<>();
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final Counter deltas;
+
+    @Autowired
+    public AvailabilityStream(SportCatalog sportCatalog,
+                              MeterRegistry meterRegistry,
+                              @Value("${availability.stream.sender-threads:4}") int senderThreads,
+                              @Value("${availability.stream.buffer-size:256}") int bufferSize,
+                              @Value("${availability.stream.max-subscribers:10000}") int maxSubscribers,
+                              @Value("${availability.stream.max-venues:200}") int maxVenues,
+                              @Value("${availability.stream.timeout:PT30M}") Duration timeout,
+                              @Value("${availability.stream.write-timeout:PT10S}") Duration writeTimeout) {
+        this(sportCatalog, senderPool(senderThreads), meterRegistry, bufferSize, maxSubscribers, maxVenues, timeout,
+                writeTimeout);
+    }
+
+    AvailabilityStream(SportCatalog sportCatalog, Executor sender, MeterRegistry meterRegistry,
+                       int bufferSize, int maxSubscribers, int maxVenues, Duration timeout, Duration writeTimeout) {
+        this.sportCatalog = sportCatalog;
+        this.sender = sender;
+        this.meterRegistry = meterRegistry;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.maxVenues = maxVenues;
+        this.timeout = timeout;
+        this.writeTimeout = writeTimeout;
+        this.deltas = Counter.builder("availability.stream.deltas")
+                .description("Slot deltas written to subscribers")
+                .register(meterRegistry);
+        Gauge.builder("availability.stream.subscribers", subscribers, Set::size)
+                .description("Open availability streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param venueIds venues to follow, may be empty when {@code sport} is given
+     * @param sport    sport_id or sport name to follow, or null
+     */
+    public SseEmitter subscribe(Collection<Long> venueIds, String sport) {
+        if (venueIds.isEmpty() && sport == null) {
+            throw new IllegalArgumentException("Subscribe to at least one venueId or a sportId");
+        }
+        if (venueIds.size() > maxVenues) {
+            throw new IllegalArgumentException("At most " + maxVenues + " venues per subscription");
+        }
+        String sportId = sport == null ? null : sportCatalog.resolve(sport)
+                .map(Sport::getSportId)
+                .orElseThrow(() -> new ResourceNotFoundException("Unknown sport: " + sport));
+        if (admitted.incrementAndGet() > maxSubscribers) {
+            admitted.decrementAndGet();
+            throw new TooManySubscribersException("Too many availability subscribers, please retry later");
+        }
+
+        SseEmitter emitter = newEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(venueIds), sportId);
+        subscribers.add(subscriber);
+        subscriber.venueIds.forEach(venueId -> byVenue.compute(venueId, (id, set) -> add(set, subscriber)));
+        if (sportId != null) {
+            bySport.compute(sportId, (id, set) -> add(set, subscriber));
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        subscriber.ready = true;
+        subscriber.schedule();
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onSlotChanged(SlotChangedEvent event) {
+        TimeSlotDTO delta = new TimeSlotDTO(event.getSlotId(), event.getVenueId(), event.getStartTime(),
+                event.getEndTime(), event.isAvailable());
+        forEachSubscriber(event.getVenueId(), event.getSportId(), subscriber -> subscriber.offer(delta));
+    }
+
+    @TransactionalEventListener
+    public void onSlotsBulkCreated(SlotsBulkCreatedEvent event) {
+        forEachSubscriber(event.getVenueId(), event.getSportId(), subscriber -> subscriber.resync(BULK_CREATED));
+    }
+
+    @TransactionalEventListener
+    public void onSlotsBulkRemoved(SlotsBulkRemovedEvent event) {
+        forEachSubscriber(event.getVenueId(), event.getSportId(), subscriber -> subscriber.resync(SLOTS_ARCHIVED));
+    }
+
+    @TransactionalEventListener
+    public void onVenueDeleted(VenueDeletedEvent event) {
+        forEachSubscriber(event.getVenueId(), event.getSportId(), subscriber -> subscriber.resync(VENUE_DELETED));
+    }
+
+    // Comment lines keep idle connections open through proxies and find clients that went away
+    @Scheduled(fixedDelayString = "${availability.stream.heartbeat-interval:PT15S}",
+            initialDelayString = "${availability.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat = true;
+            subscriber.schedule();
+        }
+    }
+
+    // A stalled client cannot take a resync event, so it is dropped and reconnects instead
+    @Scheduled(fixedDelayString = "${availability.stream.write-timeout:PT10S}",
+            initialDelayString = "${availability.stream.write-timeout:PT10S}")
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.stall(now - writeTimeout.toNanos())) {
+                meterRegistry.counter("availability.stream.resyncs", "reason", STALLED).increment();
+                subscriber.close();
+            }
+        }
+    }
+
+    public int subscribers() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    // Stands in a thread for each write that is blocked on a stalled client
+    private synchronized void resizeSender(int delta) {
+        if (sender instanceof ThreadPoolExecutor pool) {
+            if (delta > 0) {
+                pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+                pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+            } else {
+                pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+                pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+            }
+        }
+    }
+
+    private void forEachSubscriber(Long venueId, String sportId, Consumer<Subscriber> action) {
+        Set<Subscriber> venueSubscribers = byVenue.get(venueId);
+        if (venueSubscribers != null) {
+            venueSubscribers.forEach(action);
+        }
+        Set<Subscriber> sportSubscribers = sportId == null ? null : bySport.get(sportId);
+        if (sportSubscribers != null) {
+            for (Subscriber subscriber : sportSubscribers) {
+                // Already reached through the venue
+                if (!subscriber.venueIds.contains(venueId)) {
+                    action.accept(subscriber);
+                }
+            }
+        }
+    }
+
+    // Adds and removes go through compute so a set emptied by a closing subscriber is never reused
+    private static Set<Subscriber> add(Set<Subscriber> set, Subscriber subscriber) {
+        Set<Subscriber> target = set == null ? ConcurrentHashMap.newKeySet() : set;
+        target.add(subscriber);
+        return target;
+    }
+
+    private static ExecutorService senderPool(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "availability-stream-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final Set<Long> venueIds;
+        private final String sportId;
+        private final ArrayBlockingQueue<TimeSlotDTO> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean ready;
+        private volatile String resync;
+        private volatile boolean heartbeat;
+        // System.nanoTime() when the current write started, 0 while not writing; guarded by this
+        private long writeStartedAt;
+        private boolean stalled;
+
+        Subscriber(SseEmitter emitter, Set<Long> venueIds, String sportId) {
+            this.emitter = emitter;
+            this.venueIds = venueIds;
+            this.sportId = sportId;
+        }
+
+        void offer(TimeSlotDTO delta) {
+            if (!queue.offer(delta)) {
+                resync(OVERFLOW);
+                return;
+            }
+            schedule();
+        }
+
+        // Pending deltas are superseded by the refetch the client makes on resync
+        void resync(String reason) {
+            queue.clear();
+            resync = reason;
+            meterRegistry.counter("availability.stream.resyncs", "reason", reason).increment();
+            schedule();
+        }
+
+        void schedule() {
+            if (!closed.get() && scheduled.compareAndSet(false, true)) {
+                sender.execute(this);
+            }
+        }
+
+        // Runs on one sender thread at a time per subscriber
+        @Override
+        public void run() {
+            boolean sent;
+            boolean wasStalled;
+            startWrite();
+            try {
+                sent = send();
+            } finally {
+                scheduled.set(false);
+                wasStalled = endWrite();
+            }
+            if (wasStalled) {
+                // Dropped while this write blocked; a failed write has completed the emitter already
+                if (sent) {
+                    emitter.complete();
+                }
+                return;
+            }
+            if (sent && (!queue.isEmpty() || resync != null)) {
+                schedule();
+            }
+        }
+
+        // Returns false when the emitter is gone
+        private boolean send() {
+            try {
+                if (ready) {
+                    ready = false;
+                    emitter.send(SseEmitter.event().name("ready").data(venueIds.isEmpty() ? sportId : venueIds));
+                }
+                String reason = resync;
+                if (reason != null) {
+                    resync = null;
+                    emitter.send(SseEmitter.event().name("resync").data(reason));
+                }
+                List<TimeSlotDTO> batch = new ArrayList<>();
+                queue.drainTo(batch, bufferSize);
+                if (!batch.isEmpty()) {
+                    emitter.send(SseEmitter.event().name("slots").data(batch, MediaType.APPLICATION_JSON));
+                    deltas.increment(batch.size());
+                } else if (heartbeat && reason == null) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                heartbeat = false;
+                return true;
+            } catch (IOException ex) {
+                log.debug("Availability subscriber went away: {}", ex.getMessage());
+                emitter.completeWithError(ex);
+                close();
+                return false;
+            } catch (IllegalStateException ex) {
+                // Emitter already completed or timed out
+                close();
+                return false;
+            }
+        }
+
+        synchronized void startWrite() {
+            writeStartedAt = System.nanoTime();
+        }
+
+        // Returns true if the write was declared stalled meanwhile, handing back the thread added for it
+        synchronized boolean endWrite() {
+            writeStartedAt = 0;
+            if (stalled) {
+                resizeSender(-1);
+            }
+            return stalled;
+        }
+
+        // Declares a write started before the cutoff stalled and adds a sender thread while it blocks
+        synchronized boolean stall(long cutoff) {
+            if (stalled || writeStartedAt == 0 || writeStartedAt - cutoff > 0) {
+                return false;
+            }
+            stalled = true;
+            resizeSender(1);
+            return true;
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.remove(this);
+            venueIds.forEach(venueId -> byVenue.computeIfPresent(venueId, (id, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            }));
+            if (sportId != null) {
+                bySport.computeIfPresent(sportId, (id, set) -> {
+                    set.remove(this);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+            admitted.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.dto.BookingExportRow;
+import com.booking.venuebooking.repository.BookingExportRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SequenceWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Writes bookings straight from the export cursor to the response stream.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final BookingExportRepository bookingExportRepository;
+    private final ObjectMapper objectMapper;
+
+    public void export(Format format, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        LocalDateTime start = from == null ? MIN_DATE : from;
+        LocalDateTime end = to == null ? MAX_DATE : to;
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+
+        if (format == Format.CSV) {
+            exportCsv(start, end, out);
+        } else {
+            exportNdjson(start, end, out);
+        }
+    }
+
+    private void exportNdjson(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            long[] rows = {0};
+            bookingExportRepository.streamBookings(from, to, row -> {
+                writer.write(row);
+                if (++rows[0] % FLUSH_EVERY == 1) {
+                    writer.flush();
+                }
+            });
+            writer.flush();
+            // The separator only goes between records, so the last one still needs its newline
+            if (rows[0] > 0) {
+                out.write('\n');
+            }
+        }
+    }
+
+    private void exportCsv(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,slotId,venueId,customerName,customerEmail,customerPhone,status," +
+                "bookingDate,cancelledAt,startTime,endTime\n");
+        writer.flush();
+
+        long[] rows = {0};
+        bookingExportRepository.streamBookings(from, to, row -> {
+            try {
+                writeCsvRow(writer, row);
+                if (++rows[0] % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        writer.flush();
+    }
+
+    private static void writeCsvRow(Writer writer, BookingExportRow row) throws IOException {
+        Object[] values = {row.id(), row.slotId(), row.venueId(), row.customerName(), row.customerEmail(),
+                row.customerPhone(), row.status(), row.bookingDate(), row.cancelledAt(),
+                row.startTime(), row.endTime()};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] instanceof String text) {
+                writer.write(csvText(text));
+            } else if (values[i] != null) {
+                writer.write(csvEscape(values[i].toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    // Customer fields are user input: a leading = + - @ (or tab/CR) would run as a formula in a spreadsheet
+    private static String csvText(String value) {
+        if (value.isEmpty() || "=+-@\t\r".indexOf(value.charAt(0)) < 0) {
+            return csvEscape(value);
+        }
+        return "\"'" + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+    }
+}
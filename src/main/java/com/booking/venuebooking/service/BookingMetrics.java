@@ -0,0 +1,114 @@
+package com.booking.venuebooking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Meters of the booking write path, published under booking.*:
+ * <ul>
+ *   <li>booking.create / booking.cancel - end-to-end latency, tagged with mode and outcome</li>
+ *   <li>booking.cart - multi-slot booking latency by outcome, booking.cart.slots - slots per booked cart</li>
+ *   <li>booking.hold - hold/confirm/release latency by operation and outcome, booking.hold.expired - holds released by expiry</li>
+ *   <li>booking.lock.wait - time to acquire the slot row lock</li>
+ *   <li>booking.rejected - rejections by reason</li>
+ *   <li>booking.retries - transactions retried after a deadlock, lock timeout or serialization failure</li>
+ * </ul>
+ * Histogram buckets are switched on through management.metrics.distribution.* properties.
+ */
+@Component
+public class BookingMetrics {
+
+    public static final String UNAVAILABLE = "unavailable";
+    public static final String ALREADY_BOOKED = "already_booked";
+    public static final String NOT_FOUND = "not_found";
+
+    public static final String SUCCESS = "success";
+    public static final String REJECTED = "rejected";
+    public static final String ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+
+    public BookingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordBooking(Timer.Sample sample, BookingMode mode, String outcome) {
+        sample.stop(Timer.builder("booking.create")
+                .description("Booking latency including retries")
+                .tag("mode", mode.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    public void recordCart(Timer.Sample sample, int slots, String outcome) {
+        sample.stop(Timer.builder("booking.cart")
+                .description("Multi-slot booking latency including retries")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        if (SUCCESS.equals(outcome)) {
+            meterRegistry.summary("booking.cart.slots").record(slots);
+        }
+    }
+
+    public void recordCancel(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("booking.cancel")
+                .description("Cancellation latency including retries")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    public void recordHold(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(Timer.builder("booking.hold")
+                .description("Slot hold latency including retries")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    public void holdsExpired(int count) {
+        meterRegistry.counter("booking.hold.expired").increment(count);
+    }
+
+    public <T> T timeLockWait(BookingMode mode, Supplier<T> lockingStatement) {
+        return Timer.builder("booking.lock.wait")
+                .description("Time spent acquiring the slot row lock")
+                .tag("mode", mode.name())
+                .register(meterRegistry)
+                .record(lockingStatement);
+    }
+
+    public void rejected(String reason) {
+        Counter.builder("booking.rejected")
+                .description("Bookings rejected before any write")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void retried(String operation, ConcurrencyFailureException ex) {
+        Counter.builder("booking.retries")
+                .description("Transactions retried after a lock conflict")
+                .tag("operation", operation)
+                .tag("cause", causeOf(ex))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String causeOf(ConcurrencyFailureException ex) {
+        String message = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase();
+        if (message.contains("deadlock")) {
+            return "deadlock";
+        }
+        return ex instanceof CannotAcquireLockException ? "lock_timeout" : "serialization";
+    }
+}
@@ -0,0 +1,11 @@
+package com.booking.venuebooking.service;
+
+/**
+ * How createBooking claims a slot, selected with {@code booking.mode}.
+ */
+public enum BookingMode {
+    // SERIALIZABLE transaction holding a PESSIMISTIC_WRITE row lock on the slot
+    PESSIMISTIC,
+    // READ COMMITTED transaction claiming the slot with one conditional UPDATE
+    CONDITIONAL
+}
@@ -0,0 +1,46 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.entity.Booking;
+import com.booking.venuebooking.entity.OutboxEvent;
+import com.booking.venuebooking.event.BookingEvent;
+import com.booking.venuebooking.repository.OutboxJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Records booking events in outbox_events inside the booking transaction. Delivery is
+ * left to {@link OutboxDispatcher}, so side effects never run on the request thread or
+ * while the slot locks are held.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingOutbox {
+
+    private final OutboxJdbcRepository outboxJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookingsCreated(List<Booking> bookings) {
+        append(bookings, BookingEvent.Type.BOOKING_CREATED);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookingCancelled(Booking booking) {
+        append(List.of(booking), BookingEvent.Type.BOOKING_CANCELLED);
+    }
+
+    private void append(List<Booking> bookings, BookingEvent.Type type) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxJdbcRepository.append(bookings.stream().map(booking -> {
+            BookingEvent event = BookingEvent.of(booking, type);
+            return new OutboxEvent(null, type.name(), event.getBookingId(), event.getVenueId(),
+                    objectMapper.writeValueAsString(event), now, null, null, 0);
+        }).toList());
+    }
+}
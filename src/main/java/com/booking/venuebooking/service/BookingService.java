@@ -2,21 +2,29 @@ package com.booking.venuebooking.service;
 
 
 import com.booking.venuebooking.dto.BookingDTO;
+import com.booking.venuebooking.dto.CartBookingRequest;
+import com.booking.venuebooking.dto.CursorPage;
 import com.booking.venuebooking.dto.TimeSlotDTO;
 import com.booking.venuebooking.entity.Booking;
 import com.booking.venuebooking.entity.TimeSlot;
 import com.booking.venuebooking.exception.BookingException;
 import com.booking.venuebooking.exception.ResourceNotFoundException;
+import com.booking.venuebooking.exception.SlotUnavailableException;
 import com.booking.venuebooking.repository.BookingRepository;
-import com.booking.venuebooking.repository.TimeSlotRepository;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 
 @Slf4j
@@ -24,81 +32,192 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class BookingService {
 
+    static final int MAX_PAGE_SIZE = 200;
+
     private final BookingRepository bookingRepository;
-    private final TimeSlotRepository timeSlotRepository;
+    private final BookingWriter bookingWriter;
+    private final UnavailableSlotCache unavailableSlotCache;
+    private final BookingMetrics bookingMetrics;
+    private final HoldExpiryQueue holdExpiryQueue;
+
+    @Value("${booking.mode:PESSIMISTIC}")
+    private BookingMode bookingMode;
+
+    @Value("${booking.cart.max-slots:20}")
+    private int maxCartSlots;
+
+    @Value("${booking.hold.ttl:PT10M}")
+    private Duration holdTtl;
+
+    @Value("${booking.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${booking.retry.backoff:PT0.02S}")
+    private Duration retryBackoff;
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     public BookingDTO createBooking(BookingDTO dto) {
-        // Use pessimistic lock to prevent double booking
-        TimeSlot slot = timeSlotRepository.findByIdWithLock(dto.getSlotId())
-                .orElseThrow(() -> new ResourceNotFoundException("Time slot not found with id: " + dto.getSlotId()));
+        return createBooking(dto, null);
+    }
 
-        // Check if slot is available
-        if (!slot.getIsAvailable()) {
-            throw new BookingException("Time slot is not available for booking");
+    /**
+     * Books a slot using the write path selected by {@code booking.mode}.
+     * Lock conflicts (deadlock, lock timeout, serialization failure) are retried
+     * in a fresh transaction up to {@code booking.retry.max-attempts} times.
+     * A non-null {@code claim} is completed with the booking's id in the booking transaction.
+     */
+    public BookingDTO createBooking(BookingDTO dto, IdempotencyService.Claim claim) {
+        Timer.Sample sample = bookingMetrics.start();
+        String outcome = BookingMetrics.ERROR;
+        try {
+            // Known-taken slots are rejected before a transaction or connection is used
+            if (unavailableSlotCache.isUnavailable(dto.getSlotId())) {
+                bookingMetrics.rejected(BookingMetrics.UNAVAILABLE);
+                throw new SlotUnavailableException("Time slot is not available for booking");
+            }
+
+            Booking booking = withRetry("create", () -> bookingMode == BookingMode.CONDITIONAL
+                    ? bookingWriter.bookWithConditionalUpdate(dto, claim)
+                    : bookingWriter.bookWithLock(dto, claim));
+            outcome = BookingMetrics.SUCCESS;
+            return mapToDTO(booking);
+        } catch (BookingException | ResourceNotFoundException ex) {
+            outcome = BookingMetrics.REJECTED;
+            throw ex;
+        } finally {
+            bookingMetrics.recordBooking(sample, bookingMode, outcome);
         }
+    }
 
-        // Check if slot already has an ACTIVE (CONFIRMED) booking
-        Optional<Booking> activeBooking = bookingRepository.findActiveBookingBySlotId(slot.getId());
-        if (activeBooking.isPresent()) {
-            throw new BookingException("Time slot is already booked");
+    /**
+     * Books every slot of the cart in one transaction, or none of them.
+     */
+    public List<BookingDTO> createBookings(CartBookingRequest request) {
+        Timer.Sample sample = bookingMetrics.start();
+        String outcome = BookingMetrics.ERROR;
+        try {
+            List<Long> slotIds = request.getSlotIds().stream().sorted().toList();
+            if (slotIds.size() > maxCartSlots) {
+                throw new IllegalArgumentException("A cart may contain at most " + maxCartSlots + " slots");
+            }
+            if (slotIds.stream().distinct().count() != slotIds.size()) {
+                throw new IllegalArgumentException("A cart may not contain the same slot twice");
+            }
+            List<Long> known = slotIds.stream().filter(unavailableSlotCache::isUnavailable).toList();
+            if (!known.isEmpty()) {
+                bookingMetrics.rejected(BookingMetrics.UNAVAILABLE);
+                throw new SlotUnavailableException("Time slots are not available for booking: " + known);
+            }
+
+            List<Booking> bookings = withRetry("cart", () -> bookingWriter.bookAll(slotIds, request));
+            outcome = BookingMetrics.SUCCESS;
+            return bookings.stream().map(this::mapToDTO).toList();
+        } catch (BookingException | ResourceNotFoundException | IllegalArgumentException ex) {
+            outcome = BookingMetrics.REJECTED;
+            throw ex;
+        } finally {
+            bookingMetrics.recordCart(sample, request.getSlotIds().size(), outcome);
         }
-
-        // Create booking
-        log.debug("booking trying to create ");
-        System.out.println("booking trying to create ");
-        Booking booking = new Booking();
-        booking.setTimeSlot(slot);
-        booking.setCustomerName(dto.getCustomerName());
-        booking.setCustomerEmail(dto.getCustomerEmail());
-        booking.setCustomerPhone(dto.getCustomerPhone());
-        booking.setStatus(Booking.BookingStatus.CONFIRMED);
-
-
-        // Mark slot as unavailable
-        slot.setIsAvailable(false);
-        System.out.println("booking trying to create save timeslot ");
-        timeSlotRepository.save(slot);
-        System.out.println("booking trying to create save bookingRepository ");
-        booking = bookingRepository.save(booking);
-        System.out.println("booking trying to create save final ");
-        return mapToDTO(booking);
     }
 
     @Transactional(readOnly = true)
-    public List<BookingDTO> getAllBookings() {
-        return bookingRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public CursorPage<BookingDTO> getBookings(Long cursor, int size, String status,
+                                              String customerEmail, Long venueId) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Booking.BookingStatus bookingStatus = status == null ? null : Booking.BookingStatus.valueOf(status.toUpperCase());
+
+        List<BookingDTO> rows = bookingRepository.findPage(cursor == null ? Long.MAX_VALUE : cursor,
+                bookingStatus, customerEmail, venueId, Limit.of(size + 1));
+        return CursorPage.of(rows, size, BookingDTO::getId, Function.identity());
     }
 
     @Transactional(readOnly = true)
     public BookingDTO getBookingById(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        return bookingRepository.findDTOById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
-        return mapToDTO(booking);
     }
 
-    @Transactional
     public BookingDTO cancelBooking(Long id) {
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
-
-        if (booking.getStatus() == Booking.BookingStatus.CANCELLED) {
-            throw new BookingException("Booking is already cancelled");
+        Timer.Sample sample = bookingMetrics.start();
+        String outcome = BookingMetrics.ERROR;
+        try {
+            Booking booking = withRetry("cancel", () -> bookingWriter.cancel(id));
+            outcome = BookingMetrics.SUCCESS;
+            return mapToDTO(booking);
+        } catch (BookingException | ResourceNotFoundException ex) {
+            outcome = BookingMetrics.REJECTED;
+            throw ex;
+        } finally {
+            bookingMetrics.recordCancel(sample, outcome);
         }
+    }
 
-        // Update booking status
-        booking.setStatus(Booking.BookingStatus.CANCELLED);
-        booking.setCancelledAt(LocalDateTime.now());
+    /**
+     * Holds a slot for {@code booking.hold.ttl} while the customer pays. The hold is a HELD
+     * booking that is confirmed with {@link #confirmHold}, or released by {@link #releaseHold}
+     * or by the expiry queue.
+     */
+    public BookingDTO holdSlot(BookingDTO dto) {
+        return recordHold("hold", () -> {
+            if (unavailableSlotCache.isUnavailable(dto.getSlotId())) {
+                bookingMetrics.rejected(BookingMetrics.UNAVAILABLE);
+                throw new SlotUnavailableException("Time slot is not available for booking");
+            }
+            Booking booking = withRetry("hold",
+                    () -> bookingWriter.hold(dto, LocalDateTime.now().plus(holdTtl)));
+            holdExpiryQueue.schedule(booking.getId(), booking.getHoldExpiresAt());
+            return booking;
+        });
+    }
 
-        // Free up the slot
-        TimeSlot slot = booking.getTimeSlot();
-        slot.setIsAvailable(true);
-        timeSlotRepository.save(slot);
+    public BookingDTO confirmHold(Long id) {
+        return recordHold("confirm", () -> withRetry("confirm", () -> bookingWriter.confirmHold(id)));
+    }
 
-        booking = bookingRepository.save(booking);
-        return mapToDTO(booking);
+    public BookingDTO releaseHold(Long id) {
+        return recordHold("release", () -> withRetry("release", () -> bookingWriter.releaseHold(id)));
+    }
+
+    private BookingDTO recordHold(String operation, Supplier<Booking> action) {
+        Timer.Sample sample = bookingMetrics.start();
+        String outcome = BookingMetrics.ERROR;
+        try {
+            Booking booking = action.get();
+            outcome = BookingMetrics.SUCCESS;
+            return mapToDTO(booking);
+        } catch (BookingException | ResourceNotFoundException ex) {
+            outcome = BookingMetrics.REJECTED;
+            throw ex;
+        } finally {
+            bookingMetrics.recordHold(sample, operation, outcome);
+        }
+    }
+
+    private <T> T withRetry(String operation, Supplier<T> transaction) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.get();
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                bookingMetrics.retried(operation, ex);
+                log.debug("Retrying {} after lock conflict (attempt {}): {}", operation, attempt, ex.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    // Linear backoff with full jitter so the transactions that collided do not collide again
+    private void backOff(int attempt) {
+        long maxMillis = retryBackoff.toMillis() * attempt;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxMillis + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BookingException("Interrupted while retrying booking");
+        }
     }
 
     private BookingDTO mapToDTO(Booking booking) {
@@ -110,6 +229,7 @@ public class BookingService {
         dto.setCustomerPhone(booking.getCustomerPhone());
         dto.setStatus(booking.getStatus().name());
         dto.setBookingDate(booking.getBookingDate());
+        dto.setHoldExpiresAt(booking.getHoldExpiresAt());
 
         // Include slot details
         TimeSlot slot = booking.getTimeSlot();
@@ -0,0 +1,273 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.dto.BookingDTO;
+import com.booking.venuebooking.dto.CartBookingRequest;
+import com.booking.venuebooking.entity.Booking;
+import com.booking.venuebooking.entity.TimeSlot;
+import com.booking.venuebooking.event.SlotChangedEvent;
+import com.booking.venuebooking.exception.BookingException;
+import com.booking.venuebooking.exception.ResourceNotFoundException;
+import com.booking.venuebooking.exception.SlotUnavailableException;
+import com.booking.venuebooking.repository.BookingJdbcRepository;
+import com.booking.venuebooking.repository.BookingRepository;
+import com.booking.venuebooking.repository.IdempotencyKeyRepository;
+import com.booking.venuebooking.repository.TimeSlotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional write paths behind {@link BookingService#createBooking}, one per {@link BookingMode},
+ * {@link BookingService#createBookings}, {@link BookingService#cancelBooking} and the slot hold methods.
+ * All keep the invariant that a slot with a HELD or CONFIRMED booking is marked unavailable. Each call is one transaction, so the service can retry it.
+ * None of them writes the venue row: {@link VenueSlotCounts} updates the counters after commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingWriter {
+
+    private final BookingRepository bookingRepository;
+    private final TimeSlotRepository timeSlotRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final BookingMetrics bookingMetrics;
+    private final BookingOutbox bookingOutbox;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public Booking bookWithLock(BookingDTO dto, IdempotencyService.Claim claim) {
+        // Use pessimistic lock to prevent double booking
+        TimeSlot slot = bookingMetrics.timeLockWait(BookingMode.PESSIMISTIC,
+                        () -> timeSlotRepository.findByIdWithLock(dto.getSlotId()))
+                .orElseThrow(() -> notFound(dto.getSlotId()));
+
+        // Check if slot is available
+        if (!slot.getIsAvailable()) {
+            bookingMetrics.rejected(BookingMetrics.UNAVAILABLE);
+            throw new SlotUnavailableException("Time slot is not available for booking");
+        }
+
+        // Check if slot already has an ACTIVE (CONFIRMED) booking
+        Optional<Booking> activeBooking = bookingRepository.findActiveBookingBySlotId(slot.getId());
+        if (activeBooking.isPresent()) {
+            bookingMetrics.rejected(BookingMetrics.ALREADY_BOOKED);
+            throw new SlotUnavailableException("Time slot is already booked");
+        }
+
+        // Create booking
+        log.debug("Booking slot {}", slot.getId());
+        Booking booking = newBooking(slot, dto);
+
+        // Mark slot as unavailable
+        slot.setIsAvailable(false);
+        timeSlotRepository.save(slot);
+        booking = bookingRepository.save(booking);
+        completeClaim(claim, booking);
+        bookingOutbox.bookingsCreated(List.of(booking));
+        eventPublisher.publishEvent(SlotChangedEvent.of(slot, SlotChangedEvent.Change.BOOKED));
+        return booking;
+    }
+
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public Booking bookWithConditionalUpdate(BookingDTO dto, IdempotencyService.Claim claim) {
+        TimeSlot slot = claim(dto.getSlotId(), BookingMode.CONDITIONAL);
+        Booking booking = bookingRepository.save(newBooking(slot, dto));
+        completeClaim(claim, booking);
+        bookingOutbox.bookingsCreated(List.of(booking));
+        eventPublisher.publishEvent(SlotChangedEvent.of(slot, SlotChangedEvent.Change.BOOKED));
+        return booking;
+    }
+
+    /**
+     * Holds a slot until {@code expiresAt}: the same single conditional UPDATE as
+     * {@link #bookWithConditionalUpdate}, with the booking inserted as HELD. The slot
+     * reads as unavailable until the hold is confirmed, released or expires.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public Booking hold(BookingDTO dto, LocalDateTime expiresAt) {
+        TimeSlot slot = claim(dto.getSlotId(), BookingMode.CONDITIONAL);
+        Booking booking = newBooking(slot, dto);
+        booking.setStatus(Booking.BookingStatus.HELD);
+        booking.setHoldExpiresAt(expiresAt);
+        booking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(SlotChangedEvent.of(slot, SlotChangedEvent.Change.HELD));
+        return booking;
+    }
+
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public Booking confirmHold(Long id) {
+        if (bookingRepository.confirmHold(id, LocalDateTime.now()) == 0) {
+            Booking booking = findBooking(id);
+            throw new BookingException(booking.getStatus() == Booking.BookingStatus.HELD
+                    ? "Hold has expired"
+                    : "Booking is not held: " + booking.getStatus());
+        }
+        Booking booking = findBooking(id);
+        bookingOutbox.bookingsCreated(List.of(booking));
+        return booking;
+    }
+
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public Booking releaseHold(Long id) {
+        Booking booking = bookingRepository.findHeldByIdWithLock(List.of(id)).stream().findFirst()
+                .orElseThrow(() -> new BookingException("Booking is not held: " + findBooking(id).getStatus()));
+        release(List.of(booking), Booking.BookingStatus.CANCELLED);
+        return booking;
+    }
+
+    /**
+     * Expires the holds among {@code bookingIds} whose expiry has passed, in one transaction:
+     * bookings, then slots, each locked in id order.
+     *
+     * Bookings that are still held but not yet due (e.g. clock skew) are returned for the
+     * caller to re-queue.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public HoldExpiry expireHolds(Collection<Long> bookingIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Boolean, List<Booking>> due = bookingRepository.findHeldByIdWithLock(bookingIds).stream()
+                .collect(Collectors.partitioningBy(booking -> !booking.getHoldExpiresAt().isAfter(now)));
+        if (!due.get(true).isEmpty()) {
+            release(due.get(true), Booking.BookingStatus.EXPIRED);
+        }
+        return new HoldExpiry(due.get(true).size(), due.get(false));
+    }
+
+    /**
+     * Books all slots or none. Rows are locked in id order; the lock is what prevents
+     * double booking here, so READ COMMITTED is enough and avoids SERIALIZABLE's shared locks.
+     *
+     * @param slotIds distinct slot ids in ascending order
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public List<Booking> bookAll(List<Long> slotIds, CartBookingRequest request) {
+        List<TimeSlot> slots = bookingMetrics.timeLockWait(BookingMode.PESSIMISTIC,
+                () -> timeSlotRepository.findAllByIdWithLock(slotIds));
+
+        if (slots.size() != slotIds.size()) {
+            Set<Long> found = slots.stream().map(TimeSlot::getId).collect(Collectors.toSet());
+            bookingMetrics.rejected(BookingMetrics.NOT_FOUND);
+            throw new ResourceNotFoundException("Time slots not found with ids: "
+                    + slotIds.stream().filter(id -> !found.contains(id)).toList());
+        }
+
+        List<Long> unavailable = slots.stream().filter(slot -> !slot.getIsAvailable()).map(TimeSlot::getId).toList();
+        if (!unavailable.isEmpty()) {
+            bookingMetrics.rejected(BookingMetrics.UNAVAILABLE);
+            throw new SlotUnavailableException("Time slots are not available for booking: " + unavailable);
+        }
+
+        List<Long> booked = bookingRepository.findActiveSlotIds(slotIds);
+        if (!booked.isEmpty()) {
+            bookingMetrics.rejected(BookingMetrics.ALREADY_BOOKED);
+            throw new SlotUnavailableException("Time slots are already booked: " + booked);
+        }
+
+        // One multi-row INSERT for the bookings; the slot updates are flushed as one JDBC batch
+        bookingJdbcRepository.batchInsertConfirmed(slotIds, request);
+        slots.forEach(slot -> slot.setIsAvailable(false));
+        List<Booking> bookings = bookingRepository.findActiveBySlotIds(slotIds);
+        bookingOutbox.bookingsCreated(bookings);
+        slots.forEach(slot -> eventPublisher.publishEvent(SlotChangedEvent.of(slot, SlotChangedEvent.Change.BOOKED)));
+        return bookings;
+    }
+
+    @Transactional
+    public Booking cancel(Long id) {
+        // A plain read would let two cancels both pass the status check and both write an outbox event
+        Booking booking = bookingRepository.findByIdWithLock(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
+
+        if (booking.getStatus() == Booking.BookingStatus.CANCELLED
+                || booking.getStatus() == Booking.BookingStatus.EXPIRED) {
+            throw new BookingException("Booking is already cancelled");
+        }
+
+        // A released hold was never a booking, so only confirmed bookings announce the cancellation
+        if (booking.getStatus() == Booking.BookingStatus.CONFIRMED) {
+            bookingOutbox.bookingCancelled(booking);
+        }
+
+        // Update booking status
+        booking.setStatus(Booking.BookingStatus.CANCELLED);
+        booking.setCancelledAt(LocalDateTime.now());
+        booking.setHoldExpiresAt(null);
+
+        // Free up the slot
+        TimeSlot slot = booking.getTimeSlot();
+        slot.setIsAvailable(true);
+        timeSlotRepository.save(slot);
+        eventPublisher.publishEvent(SlotChangedEvent.of(slot, SlotChangedEvent.Change.RELEASED));
+
+        return bookingRepository.save(booking);
+    }
+
+    // Frees the slots of locked HELD bookings; slots are locked in id order
+    private void release(List<Booking> held, Booking.BookingStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> slotIds = held.stream().map(booking -> booking.getTimeSlot().getId()).sorted().toList();
+        List<TimeSlot> slots = timeSlotRepository.findAllByIdWithLock(slotIds);
+        held.forEach(booking -> {
+            booking.setStatus(status);
+            booking.setCancelledAt(now);
+            booking.setHoldExpiresAt(null);
+        });
+        slots.forEach(slot -> slot.setIsAvailable(true));
+        slots.forEach(slot -> eventPublisher.publishEvent(SlotChangedEvent.of(slot, SlotChangedEvent.Change.RELEASED)));
+    }
+
+    // Only one concurrent claim can flip is_available, no lock is held before the UPDATE
+    private TimeSlot claim(Long slotId, BookingMode mode) {
+        if (bookingMetrics.timeLockWait(mode, () -> timeSlotRepository.claimSlot(slotId)) == 0) {
+            if (!timeSlotRepository.existsById(slotId)) {
+                throw notFound(slotId);
+            }
+            bookingMetrics.rejected(BookingMetrics.UNAVAILABLE);
+            throw new SlotUnavailableException("Time slot is not available for booking");
+        }
+        return timeSlotRepository.findById(slotId)
+                .orElseThrow(() -> notFound(slotId));
+    }
+
+    // The key and the booking commit together; a claim taken over meanwhile rolls the booking back
+    private void completeClaim(IdempotencyService.Claim claim, Booking booking) {
+        if (claim != null && idempotencyKeyRepository.complete(claim.key(), claim.claimedAt(), booking.getId()) == 0) {
+            throw new BookingException("Idempotency-Key " + claim.key() + " was taken over by another request");
+        }
+    }
+
+    private Booking findBooking(Long id) {
+        return bookingRepository.findWithSlotById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
+    }
+
+    private ResourceNotFoundException notFound(Long slotId) {
+        bookingMetrics.rejected(BookingMetrics.NOT_FOUND);
+        return new ResourceNotFoundException("Time slot not found with id: " + slotId);
+    }
+
+    private Booking newBooking(TimeSlot slot, BookingDTO dto) {
+        Booking booking = new Booking();
+        booking.setTimeSlot(slot);
+        booking.setCustomerName(dto.getCustomerName());
+        booking.setCustomerEmail(dto.getCustomerEmail());
+        booking.setCustomerPhone(dto.getCustomerPhone());
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        return booking;
+    }
+
+    public record HoldExpiry(int expired, List<Booking> notDue) {
+    }
+}
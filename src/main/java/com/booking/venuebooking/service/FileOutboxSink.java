@@ -0,0 +1,55 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events as NDJSON ({"id":..,"type":..,"venueId":..,"event":{..}}) to
+ * {@code outbox.sink.file}. A batch is forced to disk before it counts as delivered.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+
+    public FileOutboxSink(@Value("${outbox.sink.file:outbox-events.ndjson}") Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void send(List<OutboxEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (OutboxEvent event : events) {
+            lines.append("{\"id\":").append(event.getId())
+                    .append(",\"type\":\"").append(event.getEventType())
+                    .append("\",\"venueId\":").append(event.getVenueId())
+                    .append(",\"event\":").append(event.getPayload())
+                    .append("}\n");
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.entity.Booking;
+import com.booking.venuebooking.repository.BookingRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases slot holds when they expire, without scanning the bookings table.
+ *
+ * Every hold is queued in a {@link DelayQueue} ordered by expiry; a single daemon thread
+ * sleeps until the head is due, then drains everything else that is due (up to
+ * {@code booking.hold.expiry-batch-size}) and expires the batch in one transaction.
+ * Holds confirmed or released in the meantime are skipped by the transaction. Pending
+ * holds are reloaded from the database at startup; a batch that fails is re-queued.
+ *
+ * The queue only knows the holds of this instance, so a periodic bounded sweep
+ * ({@code booking.hold.sweep-interval}) also expires overdue holds straight from the
+ * table, oldest first. It releases holds left behind by an instance that went away.
+ */
+@Slf4j
+@Component
+public class HoldExpiryQueue {
+
+    private final DelayQueue<Hold> queue = new DelayQueue<>();
+    private final BookingWriter bookingWriter;
+    private final BookingRepository bookingRepository;
+    private final BookingMetrics bookingMetrics;
+    private final int batchSize;
+    private final Duration retryDelay;
+
+    private volatile Thread worker;
+
+    public HoldExpiryQueue(BookingWriter bookingWriter,
+                           BookingRepository bookingRepository,
+                           BookingMetrics bookingMetrics,
+                           MeterRegistry meterRegistry,
+                           @Value("${booking.hold.expiry-batch-size:100}") int batchSize,
+                           @Value("${booking.hold.expiry-retry-delay:PT1S}") Duration retryDelay) {
+        this.bookingWriter = bookingWriter;
+        this.bookingRepository = bookingRepository;
+        this.bookingMetrics = bookingMetrics;
+        this.batchSize = batchSize;
+        this.retryDelay = retryDelay;
+        Gauge.builder("booking.hold.pending", queue, DelayQueue::size)
+                .description("Holds waiting for expiry")
+                .register(meterRegistry);
+    }
+
+    public void schedule(Long bookingId, LocalDateTime expiresAt) {
+        queue.add(new Hold(bookingId, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+    }
+
+    @PostConstruct
+    void start() {
+        bookingRepository.findByStatus(Booking.BookingStatus.HELD)
+                .forEach(booking -> schedule(booking.getId(), booking.getHoldExpiresAt()));
+        Thread thread = new Thread(this::run, "hold-expiry");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        Thread current = worker;
+        worker = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void run() {
+        while (worker != null) {
+            List<Hold> batch = new ArrayList<>(batchSize);
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException ex) {
+                return;
+            }
+            // drainTo only removes holds that are already due
+            queue.drainTo(batch, batchSize - 1);
+            expire(batch);
+        }
+    }
+
+    // Returns the number of overdue holds expired
+    @Scheduled(fixedDelayString = "${booking.hold.sweep-interval:PT1M}",
+            initialDelayString = "${booking.hold.sweep-interval:PT1M}")
+    public int sweep() {
+        int total = 0;
+        List<Long> overdue;
+        do {
+            overdue = bookingRepository.findOverdueHoldIds(LocalDateTime.now(), Limit.of(batchSize));
+            if (overdue.isEmpty()) {
+                break;
+            }
+            int expired = expire(overdue.stream().map(id -> new Hold(id, 0)).toList());
+            total += expired;
+            // A failed batch was re-queued; another instance may have taken the rest
+            if (expired == 0) {
+                break;
+            }
+        } while (overdue.size() == batchSize);
+        if (total > 0) {
+            log.info("Swept {} overdue holds", total);
+        }
+        return total;
+    }
+
+    // Returns the number of holds expired
+    int expire(List<Hold> batch) {
+        try {
+            BookingWriter.HoldExpiry result = bookingWriter.expireHolds(batch.stream().map(Hold::bookingId).toList());
+            result.notDue().forEach(booking -> schedule(booking.getId(), booking.getHoldExpiresAt()));
+            bookingMetrics.holdsExpired(result.expired());
+            return result.expired();
+        } catch (RuntimeException ex) {
+            log.warn("Could not expire {} holds, retrying in {}", batch.size(), retryDelay, ex);
+            long retryAt = System.currentTimeMillis() + retryDelay.toMillis();
+            batch.forEach(hold -> queue.add(new Hold(hold.bookingId(), retryAt)));
+            return 0;
+        }
+    }
+
+    record Hold(Long bookingId, long expiresAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtMillis, ((Hold) other).expiresAtMillis);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.config.ReadYourWrites;
+import com.booking.venuebooking.dto.BookingDTO;
+import com.booking.venuebooking.exception.BookingException;
+import com.booking.venuebooking.exception.IdempotencyKeyInProgressException;
+import com.booking.venuebooking.exception.IdempotencyKeyMismatchException;
+import com.booking.venuebooking.repository.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replays the result of a POST /bookings that carried the same Idempotency-Key,
+ * so a client retry after a timeout or dropped connection never books twice.
+ *
+ * The key is claimed in idempotency_keys before the booking runs (a row without a
+ * booking id), and the booking transaction fills in the booking id, so the key and the
+ * booking commit together. A request that finds the key claimed by another request, on
+ * any instance, waits up to {@code idempotency.claim-wait} for that claim to complete and
+ * replays its booking; after that it is rejected with 409 and Retry-After, so a slow
+ * booking never holds a servlet thread for long. A claim whose
+ * booking fails is released; one left behind by a crashed instance is taken over after
+ * {@code idempotency.claim-timeout}. Completed keys are also cached in memory, and both
+ * expire after {@code idempotency.ttl}. A key reused with a different slot or customer
+ * is rejected.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final BookingService bookingService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final Duration claimTimeout;
+    private final Duration claimWait;
+    private final Duration claimPollInterval;
+    private final Cache<String, Entry> completed;
+    private final ConcurrentMap<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(BookingService bookingService,
+                              IdempotencyKeyRepository idempotencyKeyRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${idempotency.cache.max-size:100000}") long maxSize,
+                              @Value("${idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${idempotency.claim-timeout:PT30S}") Duration claimTimeout,
+                              @Value("${idempotency.claim-wait:PT0.3S}") Duration claimWait,
+                              @Value("${idempotency.claim-poll-interval:PT0.05S}") Duration claimPollInterval) {
+        this.bookingService = bookingService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.claimTimeout = claimTimeout;
+        this.claimWait = claimWait;
+        this.claimPollInterval = claimPollInterval;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency.keys");
+    }
+
+    public Result createBooking(String key, BookingDTO dto) {
+        String fingerprint = fingerprint(dto);
+
+        Entry cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return replay(key, cached, fingerprint, "memory");
+        }
+
+        // Requests on this instance share one claim instead of polling the table
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return replay(key, await(key, running), fingerprint, "in-flight");
+        }
+
+        try {
+            long deadline = System.nanoTime() + claimWait.toNanos();
+            Claim claim;
+            while ((claim = claim(key, fingerprint)) == null) {
+                Entry stored = findCompleted(key, fingerprint);
+                if (stored != null) {
+                    completed.put(key, stored);
+                    mine.complete(stored);
+                    return replay(key, stored, fingerprint, "database");
+                }
+                if (System.nanoTime() >= deadline) {
+                    throw inProgress(key);
+                }
+                pause(key);
+            }
+
+            BookingDTO booking;
+            try {
+                booking = bookingService.createBooking(dto, claim);
+            } catch (RuntimeException ex) {
+                release(claim);
+                throw ex;
+            }
+            Entry entry = new Entry(fingerprint, booking);
+            completed.put(key, entry);
+            mine.complete(entry);
+            return new Result(booking, false);
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // Deletes expired keys in bounded batches; returns the number removed
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT1H}",
+            initialDelayString = "${idempotency.purge-interval:PT1H}")
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = idempotencyKeyRepository.deleteExpired(now, PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        if (total > 0) {
+            log.info("Purged {} expired idempotency keys", total);
+        }
+        return total;
+    }
+
+    // Inserts the key, or takes it over if it expired or its claim was abandoned; null when another request holds it
+    private Claim claim(String key, String fingerprint) {
+        // Whole seconds, so the value matches what a DATETIME column stores
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime expiresAt = now.plus(ttl);
+        if (idempotencyKeyRepository.claim(key, fingerprint, now, expiresAt) == 1
+                || idempotencyKeyRepository.reclaim(key, fingerprint, now, expiresAt, now.minus(claimTimeout)) == 1) {
+            return new Claim(key, now);
+        }
+        return null;
+    }
+
+    // On the primary: a retry on another instance may never have received the Read-After cookie
+    private Entry findCompleted(String key, String fingerprint) {
+        return ReadYourWrites.onPrimary(() -> idempotencyKeyRepository.findById(key)
+                .filter(row -> {
+                    if (!row.getRequestHash().equals(fingerprint)) {
+                        throw mismatch(key);
+                    }
+                    return row.getBookingId() != null && row.getExpiresAt().isAfter(LocalDateTime.now());
+                })
+                .map(row -> new Entry(row.getRequestHash(), bookingService.getBookingById(row.getBookingId())))
+                .orElse(null));
+    }
+
+    private void release(Claim claim) {
+        try {
+            idempotencyKeyRepository.release(claim.key(), claim.claimedAt());
+        } catch (RuntimeException ex) {
+            // The claim is taken over once it is older than idempotency.claim-timeout
+            log.warn("Could not release idempotency key {}", claim.key(), ex);
+        }
+    }
+
+    private void pause(String key) {
+        try {
+            Thread.sleep(claimPollInterval.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BookingException("Interrupted while waiting for Idempotency-Key " + key);
+        }
+    }
+
+    private Result replay(String key, Entry entry, String fingerprint, String source) {
+        if (!entry.fingerprint().equals(fingerprint)) {
+            throw mismatch(key);
+        }
+        meterRegistry.counter("idempotency.replays", "source", source).increment();
+        return new Result(entry.booking(), true);
+    }
+
+    private static IdempotencyKeyMismatchException mismatch(String key) {
+        return new IdempotencyKeyMismatchException(
+                "Idempotency-Key " + key + " was already used for a different booking request");
+    }
+
+    private static IdempotencyKeyInProgressException inProgress(String key) {
+        return new IdempotencyKeyInProgressException(
+                "A booking request with Idempotency-Key " + key + " is still in progress, please retry");
+    }
+
+    private Entry await(String key, CompletableFuture<Entry> running) {
+        try {
+            return running.get(claimWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw inProgress(key);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BookingException("Interrupted while waiting for Idempotency-Key " + key);
+        }
+    }
+
+    static String fingerprint(BookingDTO dto) {
+        String canonical = String.join("\n",
+                String.valueOf(dto.getSlotId()),
+                Objects.toString(dto.getCustomerName(), ""),
+                Objects.toString(dto.getCustomerEmail(), "").toLowerCase(),
+                Objects.toString(dto.getCustomerPhone(), ""));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public record Result(BookingDTO booking, boolean replayed) {
+    }
+
+    // A key held by this request; claimedAt is the row's created_at and tells it apart from a later claim
+    public record Claim(String key, LocalDateTime claimedAt) {
+    }
+
+    private record Entry(String fingerprint, BookingDTO booking) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.entity.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Default sink: one log line per event, ids and type only (the payload carries customer details)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void send(List<OutboxEvent> events) {
+        events.forEach(event -> log.info("Outbox event {} {} booking={} venue={}",
+                event.getId(), event.getEventType(), event.getAggregateId(), event.getVenueId()));
+    }
+}
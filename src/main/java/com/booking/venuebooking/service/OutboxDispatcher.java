@@ -0,0 +1,169 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.entity.OutboxEvent;
+import com.booking.venuebooking.repository.OutboxJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains outbox_events to the {@link OutboxSink} in batches of {@code outbox.batch-size}.
+ *
+ * Events are sent strictly in id order, and a batch is marked dispatched only after the
+ * sink accepted it (at-least-once). Ids are assigned at insert but become visible at
+ * commit, so a lower id can show up after a higher one: a batch stops before an id gap
+ * until the missing rows commit, or until the event after the gap is older than
+ * {@code outbox.gap-timeout} and the gap is taken to be a rollback.
+ *
+ * When a batch fails, its first event is retried on its own. If that fails too, the event
+ * counts an attempt and the dispatcher backs off ({@code outbox.retry-backoff}, doubling
+ * up to {@code outbox.max-retry-backoff}). After {@code outbox.max-attempts} the event is
+ * dead-lettered, so one poison event cannot block the outbox. Run the dispatcher on one
+ * instance only ({@code outbox.dispatch.enabled}).
+ */
+@Slf4j
+@Service
+public class OutboxDispatcher {
+
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final OutboxJdbcRepository outboxJdbcRepository;
+    private final OutboxSink sink;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration retention;
+    private final Duration gapTimeout;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    // Highest id this dispatcher delivered, so a purge of older rows does not look like a gap
+    private long lastDelivered;
+    private long retryAtMillis;
+
+    public OutboxDispatcher(OutboxJdbcRepository outboxJdbcRepository,
+                            OutboxSink sink,
+                            MeterRegistry meterRegistry,
+                            @Value("${outbox.dispatch.enabled:true}") boolean enabled,
+                            @Value("${outbox.batch-size:200}") int batchSize,
+                            @Value("${outbox.retention:PT24H}") Duration retention,
+                            @Value("${outbox.gap-timeout:PT5S}") Duration gapTimeout,
+                            @Value("${outbox.max-attempts:15}") int maxAttempts,
+                            @Value("${outbox.retry-backoff:PT1S}") Duration retryBackoff,
+                            @Value("${outbox.max-retry-backoff:PT5M}") Duration maxRetryBackoff) {
+        this.outboxJdbcRepository = outboxJdbcRepository;
+        this.sink = sink;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.gapTimeout = gapTimeout;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+    }
+
+    // Returns the number of events delivered in this round
+    @Scheduled(fixedDelayString = "${outbox.dispatch-interval:PT0.5S}")
+    public synchronized int dispatch() {
+        if (!enabled || System.currentTimeMillis() < retryAtMillis) {
+            return 0;
+        }
+        int delivered = 0;
+        List<OutboxEvent> batch;
+        do {
+            batch = inOrder(outboxJdbcRepository.findPending(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            if (send(batch)) {
+                delivered += batch.size();
+            } else if (send(batch.subList(0, 1))) {
+                // The first event went through on its own; the next round starts after it
+                delivered++;
+            } else if (!failed(batch.get(0))) {
+                break;
+            }
+        } while (true);
+        return delivered;
+    }
+
+    // The pending events up to the first id gap that may still commit
+    private List<OutboxEvent> inOrder(List<OutboxEvent> pending) {
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        LocalDateTime gapCutoff = LocalDateTime.now().minus(gapTimeout);
+        long expected = Math.max(lastDelivered, outboxJdbcRepository.findMaxIdBefore(pending.get(0).getId())) + 1;
+        List<OutboxEvent> ready = new ArrayList<>(pending.size());
+        for (OutboxEvent event : pending) {
+            long id = event.getId();
+            // Rows in the gap that exist were already settled (e.g. by the gap timeout); missing ones may be in flight
+            if (id > expected && event.getCreatedAt().isAfter(gapCutoff)
+                    && outboxJdbcRepository.countBetween(expected, id) < id - expected) {
+                break;
+            }
+            ready.add(event);
+            expected = Math.max(expected, id + 1);
+        }
+        return ready;
+    }
+
+    private boolean send(List<OutboxEvent> events) {
+        try {
+            sink.send(events);
+        } catch (Exception ex) {
+            meterRegistry.counter("outbox.failures").increment();
+            if (events.size() == 1) {
+                OutboxEvent event = events.get(0);
+                log.warn("Outbox sink rejected event {} {} (attempt {})",
+                        event.getId(), event.getEventType(), event.getAttempts() + 1, ex);
+            }
+            return false;
+        }
+        List<Long> ids = events.stream().map(OutboxEvent::getId).toList();
+        outboxJdbcRepository.markDispatched(ids, LocalDateTime.now());
+        meterRegistry.counter("outbox.dispatched").increment(events.size());
+        lastDelivered = Math.max(lastDelivered, ids.get(ids.size() - 1));
+        return true;
+    }
+
+    // Records a failed attempt of the event at the head; returns true if it was dead-lettered and dispatch can go on
+    private boolean failed(OutboxEvent event) {
+        int attempts = event.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            outboxJdbcRepository.markDeadLettered(event.getId(), LocalDateTime.now());
+            meterRegistry.counter("outbox.dead_lettered").increment();
+            lastDelivered = Math.max(lastDelivered, event.getId());
+            log.error("Dead-lettered outbox event {} {} after {} attempts", event.getId(), event.getEventType(), attempts);
+            return true;
+        }
+        outboxJdbcRepository.recordFailure(event.getId());
+        long backoffMillis = Math.min(maxRetryBackoff.toMillis(),
+                retryBackoff.toMillis() << Math.min(attempts - 1, 30));
+        retryAtMillis = System.currentTimeMillis() + backoffMillis;
+        return false;
+    }
+
+    // Deletes delivered events older than outbox.retention; returns the number removed
+    @Scheduled(fixedDelayString = "${outbox.purge-interval:PT1H}",
+            initialDelayString = "${outbox.purge-interval:PT1H}")
+    public int purgeDispatched() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = outboxJdbcRepository.deleteDispatchedBefore(cutoff, PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        return total;
+    }
+}
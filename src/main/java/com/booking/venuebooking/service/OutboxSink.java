@@ -0,0 +1,19 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of outbox events. Delivery is at-least-once: a batch that throws is sent
+ * again, and a batch can be repeated after a crash, so consumers should de-duplicate on
+ * the event id. Events arrive in id order. Each event of a slot or booking is written by a
+ * transaction that could only start its change after the previous one committed, so those
+ * arrive in the order they happened. Events of different slots, even at one venue, come
+ * from concurrent transactions and have no order beyond their ids.
+ * The sink is chosen with {@code outbox.sink}.
+ */
+public interface OutboxSink {
+
+    void send(List<OutboxEvent> events) throws Exception;
+}
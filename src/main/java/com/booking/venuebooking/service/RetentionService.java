@@ -0,0 +1,160 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.event.SlotChangedEvent;
+import com.booking.venuebooking.event.SlotsBulkRemovedEvent;
+import com.booking.venuebooking.repository.RetentionJdbcRepository;
+import com.booking.venuebooking.repository.RetentionJdbcRepository.ArchivedBatch;
+import com.booking.venuebooking.repository.RetentionJdbcRepository.SlotRef;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the hot tables small.
+ *
+ * Slots that ended without being booked are marked unavailable in bulk, and slots that
+ * ended more than {@code retention.archive-after} ago are moved with their bookings into
+ * the archive tables. Both jobs run in batches of {@code retention.batch-size}, one short
+ * transaction each, and throttle themselves: after every batch they pause for
+ * {@code retention.throttle-ratio} times as long as the batch took, and they stop after
+ * {@code retention.max-run-time} and pick up again on the next run. Every expired slot
+ * publishes a {@link SlotChangedEvent} from its batch's transaction, so the caches, the
+ * grid and stream subscribers see it on commit like a booking. Archived slots publish one
+ * {@link SlotsBulkRemovedEvent} per venue from their batch's transaction, so the caches and
+ * the venue counters drop them on commit; they are then removed from the interval index.
+ */
+@Slf4j
+@Service
+public class RetentionService {
+
+    public record ArchiveResult(int slots, int bookings) {
+    }
+
+    private final RetentionJdbcRepository retentionJdbcRepository;
+    private final SlotIntervalIndex slotIntervalIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration archiveAfter;
+    private final double throttleRatio;
+    private final Duration maxRunTime;
+
+    public RetentionService(RetentionJdbcRepository retentionJdbcRepository,
+                            SlotIntervalIndex slotIntervalIndex,
+                            TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher eventPublisher,
+                            MeterRegistry meterRegistry,
+                            @Value("${retention.enabled:true}") boolean enabled,
+                            @Value("${retention.batch-size:500}") int batchSize,
+                            @Value("${retention.archive-after:P90D}") Duration archiveAfter,
+                            @Value("${retention.throttle-ratio:1.0}") double throttleRatio,
+                            @Value("${retention.max-run-time:PT5M}") Duration maxRunTime) {
+        this.retentionJdbcRepository = retentionJdbcRepository;
+        this.slotIntervalIndex = slotIntervalIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.archiveAfter = archiveAfter;
+        this.throttleRatio = throttleRatio;
+        this.maxRunTime = maxRunTime;
+    }
+
+    // Returns the number of slots marked unavailable in this run
+    @Scheduled(fixedDelayString = "${retention.expire-interval:PT5M}",
+            initialDelayString = "${retention.expire-interval:PT5M}")
+    public synchronized int expireEndedSlots() {
+        if (!enabled) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int expired = inBatches(() -> transactionTemplate.execute(status -> {
+            List<SlotRef> slots = retentionJdbcRepository.expireEnded(now, batchSize);
+            slots.forEach(slot -> eventPublisher.publishEvent(new SlotChangedEvent(slot.id(), slot.venueId(),
+                    slot.sportId(), slot.startTime(), slot.endTime(), SlotChangedEvent.Change.EXPIRED)));
+            return slots.size();
+        }));
+        if (expired > 0) {
+            meterRegistry.counter("retention.slots.expired").increment(expired);
+            log.info("Marked {} ended slots unavailable", expired);
+        }
+        return expired;
+    }
+
+    @Scheduled(fixedDelayString = "${retention.archive-interval:PT1H}",
+            initialDelayString = "${retention.archive-interval:PT1H}")
+    public synchronized ArchiveResult archiveEndedSlots() {
+        if (!enabled) {
+            return new ArchiveResult(0, 0);
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(archiveAfter);
+        int[] bookings = {0};
+        int slots = inBatches(() -> {
+            ArchivedBatch batch = transactionTemplate.execute(status -> {
+                ArchivedBatch archived = retentionJdbcRepository.archiveEndedBefore(cutoff, LocalDateTime.now(),
+                        batchSize);
+                archived.slots().stream()
+                        .collect(Collectors.groupingBy(SlotRef::venueId))
+                        .values()
+                        .forEach(venueSlots -> eventPublisher.publishEvent(removed(venueSlots)));
+                return archived;
+            });
+            batch.slots().forEach(slot -> slotIntervalIndex.remove(slot.venueId(), slot.startTime()));
+            bookings[0] += batch.bookings();
+            return batch.slots().size();
+        });
+        if (slots > 0) {
+            meterRegistry.counter("retention.slots.archived").increment(slots);
+            meterRegistry.counter("retention.bookings.archived").increment(bookings[0]);
+            log.info("Archived {} slots and {} bookings that ended before {}", slots, bookings[0], cutoff);
+        }
+        return new ArchiveResult(slots, bookings[0]);
+    }
+
+    // All slots belong to one venue
+    private static SlotsBulkRemovedEvent removed(List<SlotRef> slots) {
+        SlotRef first = slots.get(0);
+        return new SlotsBulkRemovedEvent(first.venueId(), first.sportId(),
+                slots.stream().map(SlotRef::startTime).min(Comparator.naturalOrder()).orElseThrow(),
+                slots.stream().map(SlotRef::endTime).max(Comparator.naturalOrder()).orElseThrow(),
+                slots.stream().map(SlotRef::id).toList());
+    }
+
+    // Runs batches until one comes back short or the run time is used up; returns the total
+    private int inBatches(IntSupplier batch) {
+        long deadline = System.nanoTime() + maxRunTime.toNanos();
+        int total = 0;
+        while (true) {
+            long started = System.nanoTime();
+            int processed = batch.getAsInt();
+            total += processed;
+            long now = System.nanoTime();
+            if (processed < batchSize || now >= deadline) {
+                return total;
+            }
+            long pauseNanos = (long) ((now - started) * throttleRatio);
+            if (pauseNanos > 0) {
+                try {
+                    Thread.sleep(Duration.ofNanos(pauseNanos).toMillis());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return total;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.dto.SlotInterval;
+import com.booking.venuebooking.event.VenueDeletedEvent;
+import com.booking.venuebooking.repository.TimeSlotJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory per-venue index of slot intervals, used to reject overlapping slots
+ * without a range scan on idx_venue_time.
+ *
+ * Slots of one venue never overlap each other, so a map ordered by start time is
+ * enough: [start, end) overlaps iff the last slot starting before {@code end}
+ * ends after {@code start}. Both lookups are O(log n).
+ *
+ * The index is warmed from time_slots on startup, drops a venue's intervals once its
+ * deletion commits, and assumes this instance is the only writer of slots; the unique
+ * constraint on time_slots stays the final safety net.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlotIntervalIndex {
+
+    private final TimeSlotJdbcRepository timeSlotJdbcRepository;
+
+    private final ConcurrentMap<Long, NavigableMap<LocalDateTime, LocalDateTime>> venues = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void warmUp() {
+        ConcurrentMap<Long, NavigableMap<LocalDateTime, LocalDateTime>> loaded = new ConcurrentHashMap<>();
+        timeSlotJdbcRepository.forEachInterval((venueId, startTime, endTime) ->
+                loaded.computeIfAbsent(venueId, id -> new TreeMap<>()).put(startTime, endTime));
+
+        venues.clear();
+        venues.putAll(loaded);
+        log.info("Slot interval index warmed for {} venues", loaded.size());
+    }
+
+    public boolean overlaps(Long venueId, LocalDateTime startTime, LocalDateTime endTime) {
+        NavigableMap<LocalDateTime, LocalDateTime> slots = venues.get(venueId);
+        if (slots == null) {
+            return false;
+        }
+        synchronized (slots) {
+            return overlaps(slots, startTime, endTime);
+        }
+    }
+
+    /**
+     * Atomically checks for an overlap and records the interval if there is none.
+     * When called inside a transaction the reservation is dropped again on rollback.
+     *
+     * @return false if the interval overlaps an existing slot of the venue
+     */
+    public boolean tryReserve(Long venueId, LocalDateTime startTime, LocalDateTime endTime) {
+        NavigableMap<LocalDateTime, LocalDateTime> slots = venues.computeIfAbsent(venueId, id -> new TreeMap<>());
+        synchronized (slots) {
+            if (overlaps(slots, startTime, endTime)) {
+                return false;
+            }
+            slots.put(startTime, endTime);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        remove(venueId, startTime);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Reserves a batch of intervals in one pass, checking them against each other and
+     * against the venue's existing slots. Either all intervals are reserved or none.
+     *
+     * @param intervals candidate intervals sorted by start time
+     * @return the first conflicting interval, or empty if the whole batch was reserved
+     */
+    public Optional<SlotInterval> tryReserveAll(Long venueId, List<SlotInterval> intervals) {
+        NavigableMap<LocalDateTime, LocalDateTime> slots = venues.computeIfAbsent(venueId, id -> new TreeMap<>());
+        synchronized (slots) {
+            SlotInterval previous = null;
+            for (SlotInterval interval : intervals) {
+                if ((previous != null && previous.endTime().isAfter(interval.startTime()))
+                        || overlaps(slots, interval.startTime(), interval.endTime())) {
+                    return Optional.of(interval);
+                }
+                previous = interval;
+            }
+            intervals.forEach(interval -> slots.put(interval.startTime(), interval.endTime()));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        synchronized (slots) {
+                            intervals.forEach(interval -> slots.remove(interval.startTime()));
+                        }
+                    }
+                }
+            });
+        }
+        return Optional.empty();
+    }
+
+    public void remove(Long venueId, LocalDateTime startTime) {
+        NavigableMap<LocalDateTime, LocalDateTime> slots = venues.get(venueId);
+        if (slots != null) {
+            synchronized (slots) {
+                slots.remove(startTime);
+            }
+        }
+    }
+
+    public void removeVenue(Long venueId) {
+        venues.remove(venueId);
+    }
+
+    @TransactionalEventListener
+    public void onVenueDeleted(VenueDeletedEvent event) {
+        removeVenue(event.getVenueId());
+    }
+
+    private static boolean overlaps(NavigableMap<LocalDateTime, LocalDateTime> slots,
+                                    LocalDateTime startTime, LocalDateTime endTime) {
+        Map.Entry<LocalDateTime, LocalDateTime> previous = slots.lowerEntry(endTime);
+        return previous != null && previous.getValue().isAfter(startTime);
+    }
+}
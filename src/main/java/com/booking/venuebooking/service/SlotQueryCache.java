@@ -0,0 +1,211 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.config.ReadYourWrites;
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.event.SlotChangedEvent;
+import com.booking.venuebooking.event.SlotsBulkCreatedEvent;
+import com.booking.venuebooking.event.SlotsBulkRemovedEvent;
+import com.booking.venuebooking.event.VenueDeletedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the slot list read endpoints: slots by venue and available slots by
+ * sport and time window.
+ *
+ * Entries are weighed by the number of slots they hold and expire after a fixed time.
+ * Committed slot changes invalidate exactly the entries that could contain the slot:
+ * the venue's list and the windows of the venue's sport that enclose the slot. Window keys
+ * are indexed by sport, so a change only tests the windows of its own sport.
+ * Every invalidation first bumps a generation for the venue or sport (striped). A load
+ * that saw the generation move while it ran may have read data from before the change,
+ * so it is returned to its caller but not kept.
+ * Loaders read from the primary, so an entry filled right after a commit's invalidation
+ * never comes from a replica that has not applied that commit yet.
+ * Venue lists carry an ETag computed from the list itself, so the tag sent with a body
+ * always describes that body. Hit/miss/eviction statistics are published as cache.* meters.
+ */
+@Component
+public class SlotQueryCache {
+
+    /**
+     * A venue's slots and their weak ETag: venue id, slot count and a hash over every
+     * slot's id, times and availability.
+     */
+    public record VenueSlots(List<TimeSlotDTO> slots, String etag) {
+
+        static VenueSlots of(Long venueId, List<TimeSlotDTO> slots) {
+            long hash = 17;
+            for (TimeSlotDTO slot : slots) {
+                hash = 31 * hash + Objects.hashCode(slot.getId());
+                hash = 31 * hash + Objects.hashCode(slot.getStartTime());
+                hash = 31 * hash + Objects.hashCode(slot.getEndTime());
+                hash = 31 * hash + (Boolean.TRUE.equals(slot.getIsAvailable()) ? 1 : 0);
+            }
+            return new VenueSlots(List.copyOf(slots),
+                    "W/\"" + venueId + "-" + slots.size() + "-" + Long.toHexString(hash) + "\"");
+        }
+    }
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Long, VenueSlots> venueSlots;
+    private final Cache<SportWindow, List<TimeSlotDTO>> availableSlots;
+    private final AtomicLongArray venueGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLongArray sportGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    // Window keys per sport; a key is added before its load and leaves when the entry is evicted or invalidated
+    private final ConcurrentMap<String, Set<SportWindow>> windowsBySport = new ConcurrentHashMap<>();
+
+    public SlotQueryCache(MeterRegistry meterRegistry,
+                          @Value("${slots.cache.max-slots:500000}") long maxSlots,
+                          @Value("${slots.cache.ttl:PT5M}") Duration ttl) {
+        this.venueSlots = build(maxSlots, ttl, VenueSlots::slots, (key, value, cause) -> {
+        });
+        this.availableSlots = build(maxSlots, ttl, Function.identity(), (key, value, cause) -> unindex(key));
+        CaffeineCacheMetrics.monitor(meterRegistry, venueSlots, "slots.byVenue");
+        CaffeineCacheMetrics.monitor(meterRegistry, availableSlots, "slots.availableBySport");
+    }
+
+    public VenueSlots getVenueSlots(Long venueId, Supplier<List<TimeSlotDTO>> loader) {
+        return load(venueSlots, venueId, venueGenerations, venueId,
+                id -> VenueSlots.of(id, ReadYourWrites.onPrimary(loader)));
+    }
+
+    public List<TimeSlotDTO> getAvailableSlots(String sportId, LocalDateTime startTime, LocalDateTime endTime,
+                                               Supplier<List<TimeSlotDTO>> loader) {
+        return load(availableSlots, new SportWindow(sportId, startTime, endTime), sportGenerations, sportId,
+                key -> {
+                    index(key);
+                    return List.copyOf(ReadYourWrites.onPrimary(loader));
+                });
+    }
+
+    @TransactionalEventListener
+    public void onSlotChanged(SlotChangedEvent event) {
+        invalidateVenue(event.getVenueId());
+        invalidateWindows(event.getSportId(), window ->
+                window.encloses(event.getSportId(), event.getStartTime(), event.getEndTime()));
+    }
+
+    @TransactionalEventListener
+    public void onSlotsBulkCreated(SlotsBulkCreatedEvent event) {
+        invalidateVenue(event.getVenueId());
+        invalidateWindows(event.getSportId(), window ->
+                window.intersects(event.getSportId(), event.getFirstStartTime(), event.getLastEndTime()));
+    }
+
+    @TransactionalEventListener
+    public void onSlotsBulkRemoved(SlotsBulkRemovedEvent event) {
+        invalidateVenue(event.getVenueId());
+        invalidateWindows(event.getSportId(), window ->
+                window.intersects(event.getSportId(), event.getFirstStartTime(), event.getLastEndTime()));
+    }
+
+    @TransactionalEventListener
+    public void onVenueDeleted(VenueDeletedEvent event) {
+        invalidateVenue(event.getVenueId());
+        invalidateWindows(event.getSportId(), window -> window.sportId().equals(event.getSportId()));
+    }
+
+    // The generation moves before the entries go, so a load either sees the move or is stored before the removal
+    private void invalidateVenue(Long venueId) {
+        venueGenerations.incrementAndGet(stripe(venueId));
+        venueSlots.invalidate(venueId);
+    }
+
+    // A key leaves the index before its entry, so a load that indexes it again is never left unindexed.
+    // Loads still running are not waited for; the generation keeps them from being stored
+    private void invalidateWindows(String sportId, Predicate<SportWindow> affected) {
+        sportGenerations.incrementAndGet(stripe(sportId));
+        Set<SportWindow> windows = windowsBySport.get(sportId);
+        if (windows == null) {
+            return;
+        }
+        ConcurrentMap<SportWindow, List<TimeSlotDTO>> entries = availableSlots.asMap();
+        for (SportWindow window : windows) {
+            if (affected.test(window)) {
+                unindex(window);
+                List<TimeSlotDTO> cached = entries.get(window);
+                if (cached != null) {
+                    entries.remove(window, cached);
+                }
+            }
+        }
+    }
+
+    private void index(SportWindow window) {
+        windowsBySport.compute(window.sportId(), (sportId, windows) -> {
+            Set<SportWindow> updated = windows == null ? ConcurrentHashMap.newKeySet() : windows;
+            updated.add(window);
+            return updated;
+        });
+    }
+
+    private void unindex(SportWindow window) {
+        windowsBySport.computeIfPresent(window.sportId(), (sportId, windows) -> {
+            windows.remove(window);
+            return windows.isEmpty() ? null : windows;
+        });
+    }
+
+    private static <K, V> V load(Cache<K, V> cache, K key, AtomicLongArray generations, Object scope,
+                                 Function<K, V> loader) {
+        int stripe = stripe(scope);
+        long[] before = {-1};
+        V value = cache.get(key, k -> {
+            before[0] = generations.get(stripe);
+            return loader.apply(k);
+        });
+        // Only the thread that ran the loader checks; callers that waited for it share its result
+        if (before[0] >= 0 && generations.get(stripe) != before[0]) {
+            cache.asMap().remove(key, value);
+        }
+        return value;
+    }
+
+    private static int stripe(Object scope) {
+        return Math.floorMod(scope.hashCode(), GENERATION_STRIPES);
+    }
+
+    // The eviction listener runs inside the eviction, before the key can be loaded again
+    private static <K, V> Cache<K, V> build(long maxSlots, Duration ttl, Function<V, List<TimeSlotDTO>> slots,
+                                            RemovalListener<K, V> onEviction) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxSlots)
+                .weigher((K key, V value) -> slots.apply(value).size() + 1)
+                .expireAfterWrite(ttl)
+                .evictionListener(onEviction)
+                .recordStats()
+                .build();
+    }
+
+    private record SportWindow(String sportId, LocalDateTime startTime, LocalDateTime endTime) {
+
+        // Same predicate as findAvailableSlotsByTimeRange
+        boolean encloses(String sport, LocalDateTime slotStart, LocalDateTime slotEnd) {
+            return sportId.equals(sport) && !slotStart.isBefore(startTime) && !slotEnd.isAfter(endTime);
+        }
+
+        boolean intersects(String sport, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+            return sportId.equals(sport) && rangeStart.isBefore(endTime) && rangeEnd.isAfter(startTime);
+        }
+    }
+}
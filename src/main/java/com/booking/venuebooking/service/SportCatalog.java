@@ -0,0 +1,86 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.entity.Sport;
+import com.booking.venuebooking.repository.SportRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory copy of the sports table, looked up by case-insensitive name or by sport_id.
+ *
+ * The catalog is an immutable snapshot behind a volatile reference: readers never lock
+ * or touch the database, and {@link #reload()} builds a complete new snapshot before
+ * swapping it in, so a reader sees either the old catalog or the new one. The Sport
+ * objects are detached copies and must be treated as read-only.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SportCatalog {
+
+    private final SportRepository sportRepository;
+
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+    @PostConstruct
+    public void reload() {
+        List<Sport> sports = sportRepository.findAll().stream()
+                .map(sport -> new Sport(sport.getId(), sport.getSportId(), sport.getSportCode(),
+                        sport.getSportName(), sport.getCreatedAt()))
+                .toList();
+        snapshot = Snapshot.of(sports);
+        log.info("Sport catalog loaded with {} sports", sports.size());
+    }
+
+    public Optional<Sport> findByName(String sportName) {
+        return sportName == null ? Optional.empty() : Optional.ofNullable(snapshot.byName().get(normalize(sportName)));
+    }
+
+    public Optional<Sport> findBySportId(String sportId) {
+        return sportId == null ? Optional.empty() : Optional.ofNullable(snapshot.bySportId().get(sportId.trim()));
+    }
+
+    /**
+     * Resolves a sport_id or, failing that, a sport name.
+     */
+    public Optional<Sport> resolve(String sportIdOrName) {
+        return findBySportId(sportIdOrName).or(() -> findByName(sportIdOrName));
+    }
+
+    /**
+     * Sport names in alphabetical order.
+     */
+    public List<String> names() {
+        return snapshot.names();
+    }
+
+    private static String normalize(String sportName) {
+        return sportName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Snapshot(Map<String, Sport> byName, Map<String, Sport> bySportId, List<String> names) {
+
+        static Snapshot of(List<Sport> sports) {
+            Map<String, Sport> byName = new HashMap<>();
+            Map<String, Sport> bySportId = new HashMap<>();
+            for (Sport sport : sports) {
+                byName.put(normalize(sport.getSportName()), sport);
+                bySportId.put(sport.getSportId(), sport);
+            }
+            List<String> names = sports.stream()
+                    .map(Sport::getSportName)
+                    .sorted(Comparator.comparing(name -> name.toLowerCase(Locale.ROOT)))
+                    .toList();
+            return new Snapshot(Map.copyOf(byName), Map.copyOf(bySportId), names);
+        }
+    }
+}
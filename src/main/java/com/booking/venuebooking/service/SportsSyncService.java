@@ -3,50 +3,136 @@ package com.booking.venuebooking.service;
 import com.booking.venuebooking.dto.SportDTO;
 import com.booking.venuebooking.dto.SportsApiResponse;
 import com.booking.venuebooking.entity.Sport;
+import com.booking.venuebooking.repository.SportJdbcRepository;
 import com.booking.venuebooking.repository.SportRepository;
-import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the sports table in line with the external sports API.
+ *
+ * Runs on the task scheduler rather than during startup: once shortly after the context
+ * is up and then every {@code sports.sync.refresh-interval}. Timeouts and 5xx responses
+ * are retried with exponential backoff; if the API stays unreachable the existing
+ * catalog is kept. Each sync reads the current table once and writes new or changed
+ * sports in a single batch upsert, then swaps in a fresh {@link SportCatalog} after every
+ * successful fetch, so an instance whose peers already wrote the changes still picks them up.
+ */
+@Slf4j
 @Service
 public class SportsSyncService {
 
     private final SportRepository sportRepository;
+    private final SportJdbcRepository sportJdbcRepository;
+    private final SportCatalog sportCatalog;
     private final RestTemplate restTemplate;
+    private final String sportsApiUrl;
+    private final int maxAttempts;
+    private final Duration backoff;
 
-    @Value("${sports.api.url}")
-    private String sportsApiUrl;
-
-    public SportsSyncService(SportRepository sportRepository) {
+    public SportsSyncService(SportRepository sportRepository,
+                             SportJdbcRepository sportJdbcRepository,
+                             SportCatalog sportCatalog,
+                             @Value("${sports.api.url}") String sportsApiUrl,
+                             @Value("${sports.api.connect-timeout:PT2S}") Duration connectTimeout,
+                             @Value("${sports.api.read-timeout:PT5S}") Duration readTimeout,
+                             @Value("${sports.api.max-attempts:3}") int maxAttempts,
+                             @Value("${sports.api.backoff:PT1S}") Duration backoff) {
         this.sportRepository = sportRepository;
-        this.restTemplate = new RestTemplate();
-    }
-
-    @PostConstruct
-    public void loadSportsOnStartup() {
+        this.sportJdbcRepository = sportJdbcRepository;
+        this.sportCatalog = sportCatalog;
+        this.sportsApiUrl = sportsApiUrl;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
 
-        SportsApiResponse response =
-                restTemplate.getForObject(sportsApiUrl, SportsApiResponse.class);
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
 
-        if (response == null || response.getData() == null) {
-            return; // assignment me silent fail ok
+    /**
+     * @return number of sports inserted or updated
+     */
+    @Scheduled(initialDelayString = "${sports.sync.initial-delay:PT0S}",
+            fixedDelayString = "${sports.sync.refresh-interval:PT6H}")
+    public int sync() {
+        Optional<List<SportDTO>> fetched = fetch();
+        if (fetched.isEmpty()) {
+            return 0;
         }
 
-        for (SportDTO dto : response.getData()) {
+        Map<String, Sport> existing = sportRepository.findAll().stream()
+                .collect(Collectors.toMap(Sport::getSportId, Function.identity()));
 
-            // avoid duplicate insert
-            boolean exists = sportRepository
-                    .existsBySportId(dto.getSport_id());
+        // Last entry wins if the API repeats an id
+        Map<String, SportDTO> changed = new LinkedHashMap<>();
+        for (SportDTO dto : fetched.get()) {
+            if (dto.getSport_id() == null || dto.getSport_code() == null || dto.getSport_name() == null) {
+                continue;
+            }
+            Sport current = existing.get(dto.getSport_id());
+            if (current == null
+                    || !Objects.equals(current.getSportCode(), dto.getSport_code())
+                    || !Objects.equals(current.getSportName(), dto.getSport_name())) {
+                changed.put(dto.getSport_id(), dto);
+            }
+        }
 
-            if (!exists) {
-                Sport sport = new Sport();
-                sport.setSportId(dto.getSport_id());
-                sport.setSportCode(dto.getSport_code());
-                sport.setSportName(dto.getSport_name());
+        if (!changed.isEmpty()) {
+            sportJdbcRepository.batchUpsert(List.copyOf(changed.values()));
+        }
+        // Also when nothing changed here: another instance may have written the rows first
+        sportCatalog.reload();
+        log.info("Sports sync: {} fetched, {} inserted or updated", fetched.get().size(), changed.size());
+        return changed.size();
+    }
 
-                sportRepository.save(sport);
+    private Optional<List<SportDTO>> fetch() {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                SportsApiResponse response = restTemplate.getForObject(sportsApiUrl, SportsApiResponse.class);
+                return Optional.ofNullable(response).map(SportsApiResponse::getData);
+            } catch (ResourceAccessException | HttpServerErrorException ex) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Sports API unreachable after {} attempts, keeping existing sports: {}",
+                            attempt, ex.getMessage());
+                    return Optional.empty();
+                }
+                if (!backOff(attempt)) {
+                    return Optional.empty();
+                }
+            } catch (RestClientException ex) {
+                log.warn("Sports API request failed, keeping existing sports: {}", ex.getMessage());
+                return Optional.empty();
             }
         }
     }
-}
\ No newline at end of file
+
+    // Exponential: backoff, 2 x backoff, 4 x backoff, ...
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(backoff.toMillis() << (attempt - 1));
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
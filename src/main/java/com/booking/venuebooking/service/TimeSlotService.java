@@ -1,19 +1,32 @@
 package com.booking.venuebooking.service;
 
 
+import com.booking.venuebooking.dto.BulkSlotRequest;
+import com.booking.venuebooking.dto.BulkSlotResponse;
+import com.booking.venuebooking.dto.RecurrenceRule;
+import com.booking.venuebooking.dto.SlotInterval;
 import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.entity.Sport;
 import com.booking.venuebooking.entity.TimeSlot;
 import com.booking.venuebooking.entity.Venue;
+import com.booking.venuebooking.event.SlotChangedEvent;
+import com.booking.venuebooking.event.SlotsBulkCreatedEvent;
 import com.booking.venuebooking.exception.ResourceNotFoundException;
 import com.booking.venuebooking.exception.SlotOverlapException;
+import com.booking.venuebooking.repository.TimeSlotJdbcRepository;
 import com.booking.venuebooking.repository.TimeSlotRepository;
 import com.booking.venuebooking.repository.VenueRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +34,14 @@ public class TimeSlotService {
 
     private final TimeSlotRepository timeSlotRepository;
     private final VenueRepository venueRepository;
+    private final SlotIntervalIndex slotIntervalIndex;
+    private final TimeSlotJdbcRepository timeSlotJdbcRepository;
+    private final SlotQueryCache slotQueryCache;
+    private final SportCatalog sportCatalog;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${slots.bulk.max-size:50000}")
+    private int maxBulkSlots;
 
     @Transactional
     public TimeSlotDTO createSlot(Long venueId, TimeSlotDTO dto) {
@@ -33,11 +54,10 @@ public class TimeSlotService {
         }
 
 
-        boolean hasOverlap = timeSlotRepository.existsOverlappingSlot(
-                venueId, dto.getStartTime(), dto.getEndTime()
-        );
+        // In-memory check instead of a range scan; reservation is released on rollback
+        boolean reserved = slotIntervalIndex.tryReserve(venueId, dto.getStartTime(), dto.getEndTime());
 
-        if (hasOverlap) {
+        if (!reserved) {
             throw new SlotOverlapException("Time slot overlaps with existing slot for this venue");
         }
 
@@ -48,25 +68,108 @@ public class TimeSlotService {
         slot.setIsAvailable(true);
 
         slot = timeSlotRepository.save(slot);
+        eventPublisher.publishEvent(SlotChangedEvent.of(slot, SlotChangedEvent.Change.CREATED));
         return mapToDTO(slot);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional
+    public BulkSlotResponse createSlots(Long venueId, BulkSlotRequest request) {
+        Venue venue = venueRepository.findById(venueId)
+                .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + venueId));
+
+        List<SlotInterval> intervals = expand(request);
+        if (intervals.isEmpty()) {
+            throw new IllegalArgumentException("At least one slot or a recurrence rule is required");
+        }
+        intervals.sort(Comparator.comparing(SlotInterval::startTime));
+
+        // One pass over the sorted batch catches overlaps inside it and with existing slots
+        Optional<SlotInterval> conflict = slotIntervalIndex.tryReserveAll(venueId, intervals);
+        if (conflict.isPresent()) {
+            throw new SlotOverlapException("Time slot " + conflict.get().startTime() + " - "
+                    + conflict.get().endTime() + " overlaps with another slot for this venue");
+        }
+
+        int created = timeSlotJdbcRepository.batchInsert(venueId, intervals);
+        LocalDateTime firstStart = intervals.get(0).startTime();
+        LocalDateTime lastEnd = intervals.stream().map(SlotInterval::endTime).max(Comparator.naturalOrder()).get();
+        eventPublisher.publishEvent(new SlotsBulkCreatedEvent(venueId, venue.getSportId(), firstStart, lastEnd, created));
+        return new BulkSlotResponse(venueId, created, firstStart, lastEnd);
+    }
+
     public List<TimeSlotDTO> getSlotsByVenue(Long venueId) {
-        if (!venueRepository.existsById(venueId)) {
-            throw new ResourceNotFoundException("Venue not found with id: " + venueId);
+        return getVenueSlots(venueId).slots();
+    }
+
+    // Not transactional: cache hits never open a transaction or borrow a connection
+    public SlotQueryCache.VenueSlots getVenueSlots(Long venueId) {
+        return slotQueryCache.getVenueSlots(venueId, () -> {
+            List<TimeSlotDTO> slots = timeSlotRepository.findDTOsByVenueId(venueId);
+            // Only an empty result needs a second query to tell an unknown venue from one without slots
+            if (slots.isEmpty() && !venueRepository.existsById(venueId)) {
+                throw new ResourceNotFoundException("Venue not found with id: " + venueId);
+            }
+            return slots;
+        });
+    }
+
+    /**
+     * @param sport sport_id, or a sport name (case-insensitive); unknown sports are rejected
+     *              from the in-memory catalog without a query
+     */
+    public List<TimeSlotDTO> getAvailableSlots(String sport, LocalDateTime startTime, LocalDateTime endTime) {
+        if (!endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("End time must be after start time");
         }
+        String sportId = sportCatalog.resolve(sport)
+                .map(Sport::getSportId)
+                .orElseThrow(() -> new ResourceNotFoundException("Unknown sport: " + sport
+                        + ". Please select from available sports: " + sportCatalog.names()));
+        return slotQueryCache.getAvailableSlots(sportId, startTime, endTime, () ->
+                timeSlotRepository.findAvailableSlotsByTimeRange(sportId, startTime, endTime));
+    }
 
-        return timeSlotRepository.findByVenueId(venueId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    private List<SlotInterval> expand(BulkSlotRequest request) {
+        List<SlotInterval> intervals = new ArrayList<>();
+        if (request.getSlots() != null) {
+            for (TimeSlotDTO slot : request.getSlots()) {
+                addInterval(intervals, slot.getStartTime(), slot.getEndTime());
+            }
+        }
+
+        RecurrenceRule rule = request.getRecurrence();
+        if (rule != null) {
+            if (rule.getEndDate().isBefore(rule.getStartDate())) {
+                throw new IllegalArgumentException("Recurrence end date must not be before start date");
+            }
+            if (!rule.getDailyEndTime().isAfter(rule.getDailyStartTime())) {
+                throw new IllegalArgumentException("Recurrence daily end time must be after daily start time");
+            }
+            for (LocalDate day = rule.getStartDate(); !day.isAfter(rule.getEndDate()); day = day.plusDays(1)) {
+                if (rule.getDaysOfWeek() != null && !rule.getDaysOfWeek().isEmpty()
+                        && !rule.getDaysOfWeek().contains(day.getDayOfWeek())) {
+                    continue;
+                }
+                LocalDateTime dayEnd = day.atTime(rule.getDailyEndTime());
+                LocalDateTime start = day.atTime(rule.getDailyStartTime());
+                while (!start.plusMinutes(rule.getSlotMinutes()).isAfter(dayEnd)) {
+                    LocalDateTime end = start.plusMinutes(rule.getSlotMinutes());
+                    addInterval(intervals, start, end);
+                    start = end;
+                }
+            }
+        }
+        return intervals;
     }
 
-    @Transactional(readOnly = true)
-    public List<TimeSlotDTO> getAvailableSlots(String sportId, LocalDateTime startTime, LocalDateTime endTime) {
-        return timeSlotRepository.findAvailableSlotsByTimeRange(sportId, startTime, endTime).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    private void addInterval(List<SlotInterval> intervals, LocalDateTime startTime, LocalDateTime endTime) {
+        if (!endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        if (intervals.size() >= maxBulkSlots) {
+            throw new IllegalArgumentException("A bulk request may create at most " + maxBulkSlots + " slots");
+        }
+        intervals.add(new SlotInterval(startTime, endTime));
     }
 
     private TimeSlotDTO mapToDTO(TimeSlot slot) {
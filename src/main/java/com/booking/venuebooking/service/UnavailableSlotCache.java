@@ -0,0 +1,122 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.event.SlotChangedEvent;
+import com.booking.venuebooking.event.SlotsBulkRemovedEvent;
+import com.booking.venuebooking.repository.TimeSlotJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bitset of slot ids known to be unavailable, so createBooking can reject requests
+ * for taken slots without opening a transaction.
+ *
+ * Slot ids are dense auto-increment values, one bit each. Reads are lock-free; writes
+ * come from committed booking/cancel events and are serialized on this object. A
+ * periodic reload reconciles with time_slots; events that arrive while it loads are
+ * replayed onto the loaded bitset before it replaces the live one. A stale bit can only
+ * make a request fail fast until the next reload; a missing bit just falls through to the
+ * database check. Archived slots have their bits cleared.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UnavailableSlotCache {
+
+    private static final int INITIAL_WORDS = 1024;
+
+    private final TimeSlotJdbcRepository timeSlotJdbcRepository;
+
+    private final Object reloadLock = new Object();
+
+    private volatile AtomicLongArray words = new AtomicLongArray(INITIAL_WORDS);
+    // Changes applied while a reload runs; null when none is running
+    private List<UnaryOperator<AtomicLongArray>> replay;
+
+    public boolean isUnavailable(Long slotId) {
+        if (slotId == null || slotId < 0) {
+            return false;
+        }
+        AtomicLongArray current = words;
+        long word = slotId >>> 6;
+        return word < current.length() && (current.get((int) word) & (1L << slotId)) != 0;
+    }
+
+    @TransactionalEventListener
+    public void onSlotChanged(SlotChangedEvent event) {
+        if (event.getChange() == SlotChangedEvent.Change.CREATED) {
+            return;
+        }
+        apply(current -> set(current, event.getSlotId(), !event.isAvailable()));
+    }
+
+    @TransactionalEventListener
+    public void onSlotsBulkRemoved(SlotsBulkRemovedEvent event) {
+        apply(current -> {
+            for (Long slotId : event.getSlotIds()) {
+                current = set(current, slotId, false);
+            }
+            return current;
+        });
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${booking.fast-reject.refresh-interval:PT30S}",
+            initialDelayString = "${booking.fast-reject.refresh-interval:PT30S}")
+    public void refresh() {
+        synchronized (reloadLock) {
+            synchronized (this) {
+                replay = new ArrayList<>();
+            }
+            try {
+                AtomicLongArray[] loaded = {new AtomicLongArray(words.length())};
+                timeSlotJdbcRepository.forEachUnavailableSlotId(slotId -> loaded[0] = set(loaded[0], slotId, true));
+
+                synchronized (this) {
+                    // Replaying a change the load already saw sets the same bit again
+                    for (UnaryOperator<AtomicLongArray> change : replay) {
+                        loaded[0] = change.apply(loaded[0]);
+                    }
+                    log.debug("Reloaded unavailable slots, replayed {} changes", replay.size());
+                    words = loaded[0];
+                }
+            } finally {
+                synchronized (this) {
+                    replay = null;
+                }
+            }
+        }
+    }
+
+    private synchronized void apply(UnaryOperator<AtomicLongArray> change) {
+        words = change.apply(words);
+        if (replay != null) {
+            replay.add(change);
+        }
+    }
+
+    private static AtomicLongArray set(AtomicLongArray current, long slotId, boolean unavailable) {
+        int word = Math.toIntExact(slotId >>> 6);
+        if (word >= current.length()) {
+            if (!unavailable) {
+                return current;
+            }
+            AtomicLongArray grown = new AtomicLongArray(Math.max(word + 1, current.length() * 2));
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            current = grown;
+        }
+        long mask = 1L << slotId;
+        current.set(word, unavailable ? current.get(word) | mask : current.get(word) & ~mask);
+        return current;
+    }
+}
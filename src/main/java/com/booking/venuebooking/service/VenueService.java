@@ -1,26 +1,33 @@
 package com.booking.venuebooking.service;
 
 
+import com.booking.venuebooking.dto.CursorPage;
 import com.booking.venuebooking.dto.VenueDTO;
 import com.booking.venuebooking.entity.Sport;
 import com.booking.venuebooking.entity.Venue;
+import com.booking.venuebooking.event.VenueCreatedEvent;
+import com.booking.venuebooking.event.VenueDeletedEvent;
 import com.booking.venuebooking.exception.ResourceNotFoundException;
-import com.booking.venuebooking.repository.SportRepository;
 import com.booking.venuebooking.repository.VenueRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class VenueService {
 
+    static final int MAX_PAGE_SIZE = 200;
+
     private final VenueRepository venueRepository;
     private final RestTemplate restTemplate;
-    private final SportRepository sportRepository;
+    private final SportCatalog sportCatalog;
+    private final ApplicationEventPublisher eventPublisher;
 
 
 
@@ -36,56 +43,43 @@ public class VenueService {
         venue.setSportName(sport.getSportName());
 
         venue = venueRepository.save(venue);
+        eventPublisher.publishEvent(new VenueCreatedEvent(venue.getId(), venue.getSportId()));
         return mapToDTO(venue);
     }
 
     @Transactional(readOnly = true)
-    public List<VenueDTO> getAllVenues() {
-        return venueRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public CursorPage<VenueDTO> getVenues(Long cursor, int size, String sportId) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<VenueDTO> rows = venueRepository.findPage(cursor == null ? 0L : cursor, sportId, Limit.of(size + 1));
+        return CursorPage.of(rows, size, VenueDTO::getId, Function.identity());
     }
 
     @Transactional(readOnly = true)
     public VenueDTO getVenueById(Long id) {
-        Venue venue = venueRepository.findById(id)
+        return venueRepository.findDTOById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + id));
-        return mapToDTO(venue);
     }
 
     @Transactional
     public void deleteVenue(Long id) {
-        if (!venueRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Venue not found with id: " + id);
-        }
-        venueRepository.deleteById(id);
+        Venue venue = venueRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + id));
+        venueRepository.delete(venue);
+        eventPublisher.publishEvent(new VenueDeletedEvent(venue.getId(), venue.getSportId()));
     }
 
 
     @Transactional(readOnly = true)
     public List<VenueDTO> getAvailableVenues() {
-        return venueRepository.findVenuesWithAvailableSlots().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
-    }
-    private List<String> getAllSportNames() {
-        return sportRepository.findAll()
-                .stream()
-                .map(Sport::getSportName)
-                .toList();
+        return venueRepository.findVenuesWithAvailableSlots();
     }
 
-
     private Sport validateAndGetSport(String sportName) {
-
-        return sportRepository
-                .findBySportNameIgnoreCase(sportName)
-                .orElseThrow(() -> {
-                    List<String> availableSports = getAllSportNames();
-                    throw new ResourceNotFoundException(
-                            "Invalid sport. Please select from available sports: " + availableSports
-                    );
-                });
+        return sportCatalog.findByName(sportName)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Invalid sport. Please select from available sports: " + sportCatalog.names()));
     }
 
     private VenueDTO mapToDTO(Venue venue) {
@@ -95,11 +89,7 @@ public class VenueService {
         dto.setLocation(venue.getLocation());
         dto.setSportId(venue.getSportId());
         dto.setSportName(venue.getSportName());
-        // Count available slots for this venue
-        long availableCount = venue.getTimeSlots().stream()
-                .filter(slot -> slot.getIsAvailable() != null && slot.getIsAvailable())
-                .count();
-        dto.setAvailableSlotsCount((int) availableCount);
+        dto.setAvailableSlotsCount(venue.getAvailableSlotsCount());
         return dto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.event.SlotChangedEvent;
+import com.booking.venuebooking.event.SlotsBulkCreatedEvent;
+import com.booking.venuebooking.event.SlotsBulkRemovedEvent;
+import com.booking.venuebooking.repository.VenueJdbcRepository;
+import com.booking.venuebooking.repository.VenueJdbcRepository.SlotCount;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps venues.available_slots_count in step with time_slots outside the transactions
+ * that change slots, so bookings of one venue never queue on the venue row.
+ *
+ * Committed slot changes mark their venue dirty. Every {@code venues.counts.flush-interval}
+ * the dirty venues are recounted on (venue_id, is_available) and written back with their
+ * data_version bumped, one short statement per venue. A write that finds the version moved
+ * (another instance flushed in between) is retried on the next flush. Counts trail commits
+ * by about one interval. Marks live only in memory, so an instance recounts every venue
+ * when it starts ({@code venues.counts.recount-on-startup}), repairing marks lost when an
+ * instance stopped or crashed before flushing them.
+ */
+@Slf4j
+@Component
+public class VenueSlotCounts {
+
+    private final VenueJdbcRepository venueJdbcRepository;
+    private final VenueVersions venueVersions;
+    private final int batchSize;
+    private final boolean recountOnStartup;
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    public VenueSlotCounts(VenueJdbcRepository venueJdbcRepository,
+                           VenueVersions venueVersions,
+                           MeterRegistry meterRegistry,
+                           @Value("${venues.counts.batch-size:500}") int batchSize,
+                           @Value("${venues.counts.recount-on-startup:true}") boolean recountOnStartup) {
+        this.venueJdbcRepository = venueJdbcRepository;
+        this.venueVersions = venueVersions;
+        this.batchSize = batchSize;
+        this.recountOnStartup = recountOnStartup;
+        Gauge.builder("venues.counts.pending", dirty, Set::size)
+                .description("Venues whose available slot count awaits a recount")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void recountOnStartup() {
+        if (recountOnStartup) {
+            recountAll();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onSlotChanged(SlotChangedEvent event) {
+        dirty.add(event.getVenueId());
+    }
+
+    @TransactionalEventListener
+    public void onSlotsBulkCreated(SlotsBulkCreatedEvent event) {
+        dirty.add(event.getVenueId());
+    }
+
+    @TransactionalEventListener
+    public void onSlotsBulkRemoved(SlotsBulkRemovedEvent event) {
+        dirty.add(event.getVenueId());
+    }
+
+    // Returns the number of venues written
+    @Scheduled(fixedDelayString = "${venues.counts.flush-interval:PT1S}")
+    public synchronized int flush() {
+        List<Long> venueIds = new ArrayList<>();
+        // A venue marked again after its removal here stays dirty for the next flush
+        for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+            venueIds.add(it.next());
+            it.remove();
+        }
+        Collections.sort(venueIds);
+        int written = 0;
+        for (int from = 0; from < venueIds.size(); from += batchSize) {
+            List<Long> batch = venueIds.subList(from, Math.min(from + batchSize, venueIds.size()));
+            try {
+                written += write(batch);
+            } catch (DataAccessException ex) {
+                log.warn("Could not write slot counts for {} venues, retrying on the next flush", batch.size(), ex);
+                dirty.addAll(venueIds.subList(from, venueIds.size()));
+                break;
+            }
+        }
+        return written;
+    }
+
+    // Recounts the given venues now, without waiting for the next flush
+    public synchronized int recount(List<Long> venueIds) {
+        List<Long> sorted = venueIds.stream().sorted().toList();
+        int written = 0;
+        for (int from = 0; from < sorted.size(); from += batchSize) {
+            written += write(sorted.subList(from, Math.min(from + batchSize, sorted.size())));
+        }
+        return written;
+    }
+
+    /**
+     * Recounts every venue, in id order and batches of {@code venues.counts.batch-size}.
+     * Runs on startup, and is exposed as the {@code venueslotcounts} actuator write
+     * operation for repairs such as a data migration.
+     */
+    public synchronized int recountAll() {
+        int written = 0;
+        long afterId = 0;
+        List<Long> batch;
+        do {
+            batch = venueJdbcRepository.findIdsAfter(afterId, batchSize);
+            if (!batch.isEmpty()) {
+                written += write(batch);
+                afterId = batch.get(batch.size() - 1);
+            }
+        } while (batch.size() == batchSize);
+        log.info("Recounted available slots for {} venues", written);
+        return written;
+    }
+
+    private int write(List<Long> venueIds) {
+        LocalDateTime now = LocalDateTime.now();
+        int written = 0;
+        try {
+            for (SlotCount count : venueJdbcRepository.findSlotCounts(venueIds)) {
+                if (venueJdbcRepository.writeSlotCount(count, now)) {
+                    written++;
+                } else {
+                    dirty.add(count.venueId());
+                }
+            }
+        } finally {
+            venueVersions.invalidate(venueIds);
+        }
+        return written;
+    }
+}
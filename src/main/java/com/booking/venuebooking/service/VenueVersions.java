@@ -0,0 +1,140 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.config.ReadYourWrites;
+import com.booking.venuebooking.event.VenueCreatedEvent;
+import com.booking.venuebooking.event.VenueDeletedEvent;
+import com.booking.venuebooking.repository.VenueJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * ETag / Last-Modified stamps for the venue resources, kept in memory so a matching
+ * conditional GET is answered without a query.
+ *
+ * A venue's stamp is its data_version, bumped with its slot counter by {@link VenueSlotCounts}
+ * shortly after every committed slot or booking change of the venue. Stamps are loaded on
+ * first use and dropped when that write lands; the venue list stamp (venue count, version
+ * sum, highest id) is dropped on any change. All stamps are dropped every
+ * {@code venues.version.refresh-interval} to pick up changes made by other instances.
+ *
+ * A stamp also sets the request's read-your-writes floor to the updated_at it was built
+ * from, so a replica serves the body only once it has applied the write behind the stamp.
+ *
+ * The ETags are weak: JSON and CBOR bodies of the same version are equivalent, and Tomcat
+ * only gzips responses without a strong ETag.
+ */
+@Component
+@RequiredArgsConstructor
+public class VenueVersions {
+
+    /**
+     * @param lastModified epoch millis, or -1 when the resource has no usable modification time
+     * @param readAfter    epoch millis of the newest write the stamp reflects, or -1 if unknown
+     */
+    public record Stamp(String etag, long lastModified, long readAfter) {
+    }
+
+    private final VenueJdbcRepository venueJdbcRepository;
+
+    private final ConcurrentMap<Long, Stamp> venues = new ConcurrentHashMap<>();
+    private volatile Stamp catalog;
+    // Bumped by every invalidation; a load that saw it move is not kept. Guarded by this
+    private long generation;
+    // Deletes leave no updated_at behind, so the catalog floor remembers the last one seen here
+    private volatile long lastDeletedAt = -1;
+
+    /**
+     * Stamp of {@code /venues/{id}}; empty for unknown venues. The slot list's ETag is
+     * computed from the list itself ({@link SlotQueryCache.VenueSlots}).
+     * Reads later in the request are kept at least as fresh as the stamp.
+     */
+    public Optional<Stamp> venue(Long venueId) {
+        Stamp stamp = venues.get(venueId);
+        if (stamp == null) {
+            long startGeneration = generation();
+            stamp = venueJdbcRepository.findVersion(venueId)
+                    .map(row -> new Stamp("W/\"" + venueId + "-" + row.version() + "\"",
+                            epochMillis(row.updatedAt()), epochMillis(row.updatedAt())))
+                    .orElse(null);
+            if (stamp != null) {
+                synchronized (this) {
+                    if (generation == startGeneration) {
+                        venues.put(venueId, stamp);
+                    }
+                }
+            }
+        }
+        if (stamp != null) {
+            ReadYourWrites.atLeast(stamp.readAfter());
+        }
+        return Optional.ofNullable(stamp);
+    }
+
+    /**
+     * Stamp of {@code /venues}. It has no Last-Modified: a deleted venue leaves no time behind.
+     */
+    public Stamp catalog() {
+        Stamp current = catalog;
+        if (current == null) {
+            long startGeneration = generation();
+            VenueJdbcRepository.CatalogVersion row = venueJdbcRepository.findCatalogVersion();
+            current = new Stamp("W/\"" + row.venues() + "-" + row.versionSum() + "-" + row.maxId() + "\"", -1,
+                    Math.max(epochMillis(row.lastUpdatedAt()), lastDeletedAt));
+            synchronized (this) {
+                if (generation == startGeneration) {
+                    catalog = current;
+                }
+            }
+        }
+        ReadYourWrites.atLeast(current.readAfter());
+        return current;
+    }
+
+    @TransactionalEventListener
+    public void onVenueCreated(VenueCreatedEvent event) {
+        invalidate(event.getVenueId());
+    }
+
+    @TransactionalEventListener
+    public void onVenueDeleted(VenueDeletedEvent event) {
+        lastDeletedAt = System.currentTimeMillis();
+        invalidate(event.getVenueId());
+    }
+
+    // Called by VenueSlotCounts after it wrote the venues' counters and versions
+    public synchronized void invalidate(Collection<Long> venueIds) {
+        generation++;
+        venueIds.forEach(venues::remove);
+        catalog = null;
+    }
+
+    @Scheduled(fixedDelayString = "${venues.version.refresh-interval:PT30S}",
+            initialDelayString = "${venues.version.refresh-interval:PT30S}")
+    public synchronized void refresh() {
+        generation++;
+        venues.clear();
+        catalog = null;
+    }
+
+    private void invalidate(Long venueId) {
+        invalidate(List.of(venueId));
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time == null ? -1 : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,26 @@
+package com.booking.venuebooking;
+
+import com.booking.venuebooking.entity.Venue;
+import com.booking.venuebooking.repository.VenueRepository;
+
+/**
+ * Venues for tests that only need somewhere to put slots. Every test venue plays
+ * {@link #SPORT_NAME}, so sport queries and streams in tests can use {@link #SPORT_ID}.
+ */
+public final class TestVenues {
+
+    public static final String SPORT_ID = "7031809";
+    public static final String SPORT_NAME = "Cricket";
+
+    private TestVenues() {
+    }
+
+    public static Long create(VenueRepository venueRepository, String name) {
+        Venue venue = new Venue();
+        venue.setName(name);
+        venue.setLocation("1 Test Road");
+        venue.setSportId(SPORT_ID);
+        venue.setSportName(SPORT_NAME);
+        return venueRepository.save(venue).getId();
+    }
+}
@@ -0,0 +1,72 @@
+package com.booking.venuebooking.benchmark;
+
+import com.booking.venuebooking.VenueBookingApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application without a web server on the test datasource
+ * (embedded H2 unless spring.datasource.* is overridden) and seeds data with plain JDBC.
+ */
+final class BenchmarkContext {
+
+    static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 6, 0);
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(VenueBookingApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    static long insertVenue(JdbcTemplate jdbcTemplate, String name) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO venues (name, location, sport_id, sport_name, available_slots_count, created_at, updated_at) " +
+                "VALUES (?, 'Benchmark', '7031809', 'Cricket', 0, ?, ?)", name, now, now);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM venues", Long.class);
+    }
+
+    /**
+     * Inserts {@code count} venues in one batch and returns their ids in insertion order.
+     */
+    static List<Long> insertVenues(JdbcTemplate jdbcTemplate, String namePrefix, int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{namePrefix + "-" + i, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO venues (name, location, sport_id, sport_name, available_slots_count, created_at, updated_at) " +
+                "VALUES (?, 'Benchmark', '7031809', 'Cricket', 0, ?, ?)", rows);
+        return jdbcTemplate.queryForList("SELECT id FROM venues WHERE name LIKE ? ORDER BY id",
+                Long.class, namePrefix + "-%");
+    }
+
+    /**
+     * Inserts {@code count} one-hour slots separated by one-hour gaps: slot i covers
+     * [BASE + 2i h, BASE + 2i+1 h).
+     */
+    static void insertSlots(JdbcTemplate jdbcTemplate, long venueId, int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = BASE.plusHours(2L * i);
+            rows.add(new Object[]{venueId, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)), now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO time_slots (venue_id, start_time, end_time, is_available, created_at) " +
+                "VALUES (?, ?, ?, TRUE, ?)", rows);
+        jdbcTemplate.update("UPDATE venues SET available_slots_count = available_slots_count + ? WHERE id = ?",
+                count, venueId);
+    }
+}
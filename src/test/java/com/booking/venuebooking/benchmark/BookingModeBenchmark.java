@@ -0,0 +1,78 @@
+package com.booking.venuebooking.benchmark;
+
+import com.booking.venuebooking.dto.BookingDTO;
+import com.booking.venuebooking.service.BookingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Book-then-cancel cycles on a small pool of hot slots from 8 threads, comparing the
+ * PESSIMISTIC and CONDITIONAL booking modes. With one hot slot every thread contends
+ * on the same row; rejected and failed attempts are reported as auxiliary counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class BookingModeBenchmark {
+
+    @Param({"PESSIMISTIC", "CONDITIONAL"})
+    String mode;
+
+    @Param({"1", "64"})
+    int hotSlots;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private List<Long> slotIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("booking.mode=" + mode);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long venueId = BenchmarkContext.insertVenue(jdbcTemplate, "booking-mode-benchmark");
+        BenchmarkContext.insertSlots(jdbcTemplate, venueId, hotSlots);
+        slotIds = jdbcTemplate.queryForList("SELECT id FROM time_slots WHERE venue_id = ?", Long.class, venueId);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void bookAndCancel(Outcomes outcomes) {
+        BookingDTO request = new BookingDTO();
+        request.setSlotId(slotIds.get(ThreadLocalRandom.current().nextInt(slotIds.size())));
+        request.setCustomerName("Benchmark");
+        request.setCustomerEmail("bench@example.com");
+        try {
+            BookingDTO booking = bookingService.createBooking(request);
+            bookingService.cancelBooking(booking.getId());
+            outcomes.booked++;
+        } catch (RuntimeException ex) {
+            if (ex.getClass().getPackageName().startsWith("com.booking")) {
+                outcomes.rejected++;
+            } else {
+                outcomes.failed++;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long booked;
+        public long rejected;
+        public long failed;
+    }
+}
@@ -0,0 +1,105 @@
+package com.booking.venuebooking.benchmark;
+
+import com.booking.venuebooking.dto.BookingDTO;
+import com.booking.venuebooking.service.BookingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * createBooking throughput at 1, 8 and 64 threads. With SAME every thread books the one
+ * slot, so all but one attempt per cycle are rejected; with DISTINCT each thread owns a
+ * slot and only the venue counter row is shared. Each successful booking is cancelled
+ * again so the slot can be reused; outcomes are reported as auxiliary counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingThroughputBenchmark {
+
+    private static final int MAX_THREADS = 64;
+
+    @Param({"SAME", "DISTINCT"})
+    String slots;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private List<Long> slotIds;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long venueId = BenchmarkContext.insertVenue(jdbcTemplate, "booking-throughput-benchmark");
+        BenchmarkContext.insertSlots(jdbcTemplate, venueId, MAX_THREADS);
+        slotIds = jdbcTemplate.queryForList("SELECT id FROM time_slots WHERE venue_id = ? ORDER BY id",
+                Long.class, venueId);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void threads1(Client client) {
+        book(client);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void threads8(Client client) {
+        book(client);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void threads64(Client client) {
+        book(client);
+    }
+
+    private void book(Client client) {
+        BookingDTO request = new BookingDTO();
+        request.setSlotId(client.slotId);
+        request.setCustomerName("Benchmark");
+        request.setCustomerEmail("bench@example.com");
+        try {
+            BookingDTO booking = bookingService.createBooking(request);
+            client.booked++;
+            bookingService.cancelBooking(booking.getId());
+        } catch (RuntimeException ex) {
+            if (ex.getClass().getPackageName().startsWith("com.booking")) {
+                client.rejected++;
+            } else {
+                client.failed++;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Client {
+        public long booked;
+        public long rejected;
+        public long failed;
+
+        private long slotId;
+
+        @Setup(Level.Trial)
+        public void pickSlot(BookingThroughputBenchmark benchmark) {
+            slotId = "SAME".equals(benchmark.slots)
+                    ? benchmark.slotIds.get(0)
+                    : benchmark.slotIds.get(benchmark.nextSlot.getAndIncrement() % MAX_THREADS);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.booking.venuebooking.benchmark;
+
+import com.booking.venuebooking.dto.BookingDTO;
+import com.booking.venuebooking.dto.CursorPage;
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.dto.VenueDTO;
+import com.booking.venuebooking.event.VenueDeletedEvent;
+import com.booking.venuebooking.service.BookingService;
+import com.booking.venuebooking.service.SlotQueryCache;
+import com.booking.venuebooking.service.SportCatalog;
+import com.booking.venuebooking.service.TimeSlotService;
+import com.booking.venuebooking.service.VenueService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the read endpoints on the database path: the slot list cache is invalidated
+ * before every slot read. Run with {@code -prof gc} for allocations per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    private static final int SLOTS = 200;
+    private static final int PAGE_SIZE = 50;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private TimeSlotService timeSlotService;
+    private VenueService venueService;
+    private SlotQueryCache slotQueryCache;
+    private long venueId;
+    private long bookingId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO sports (sport_id, sport_code, sport_name, created_at) " +
+                "VALUES ('7031809', 'cricket', 'Cricket', CURRENT_TIMESTAMP)");
+        context.getBean(SportCatalog.class).reload();
+        BenchmarkContext.insertVenues(jdbcTemplate, "read-benchmark", 100);
+        venueId = BenchmarkContext.insertVenue(jdbcTemplate, "read-benchmark-booked");
+        BenchmarkContext.insertSlots(jdbcTemplate, venueId, SLOTS);
+
+        // Every other slot is booked
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO bookings (slot_id, customer_name, customer_email, status, booking_date, " +
+                "created_at, updated_at) SELECT id, 'Reader', 'reader@example.com', 'CONFIRMED', ?, ?, ? " +
+                "FROM time_slots WHERE venue_id = ? AND MOD(id, 2) = 0", now, now, now, venueId);
+        jdbcTemplate.update("UPDATE time_slots SET is_available = FALSE WHERE venue_id = ? AND MOD(id, 2) = 0", venueId);
+        bookingId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM bookings", Long.class);
+
+        bookingService = context.getBean(BookingService.class);
+        timeSlotService = context.getBean(TimeSlotService.class);
+        venueService = context.getBean(VenueService.class);
+        slotQueryCache = context.getBean(SlotQueryCache.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<BookingDTO> bookingsPage() {
+        return bookingService.getBookings(null, PAGE_SIZE, null, null, venueId);
+    }
+
+    @Benchmark
+    public BookingDTO bookingById() {
+        return bookingService.getBookingById(bookingId);
+    }
+
+    @Benchmark
+    public List<TimeSlotDTO> venueSlots() {
+        slotQueryCache.onVenueDeleted(new VenueDeletedEvent(venueId, "7031809"));
+        return timeSlotService.getSlotsByVenue(venueId);
+    }
+
+    @Benchmark
+    public List<TimeSlotDTO> availableSlots() {
+        slotQueryCache.onVenueDeleted(new VenueDeletedEvent(venueId, "7031809"));
+        return timeSlotService.getAvailableSlots("7031809", BenchmarkContext.BASE,
+                BenchmarkContext.BASE.plusHours(2L * SLOTS));
+    }
+
+    @Benchmark
+    public CursorPage<VenueDTO> venuesPage() {
+        return venueService.getVenues(null, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public List<VenueDTO> availableVenues() {
+        return venueService.getAvailableVenues();
+    }
+}
@@ -0,0 +1,68 @@
+package com.booking.venuebooking.benchmark;
+
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.service.SlotIntervalIndex;
+import com.booking.venuebooking.service.TimeSlotService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end TimeSlotService.createSlot (overlap check, insert, counter update) as the
+ * venue fills up. Slots created during an iteration are removed again afterwards so
+ * every iteration starts from the same number of slots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlotCreationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int slotsPerVenue;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TimeSlotService timeSlotService;
+    private SlotIntervalIndex slotIntervalIndex;
+    private long venueId;
+    private long lastSeededId;
+    private LocalDateTime nextStart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        venueId = BenchmarkContext.insertVenue(jdbcTemplate, "slot-creation-benchmark");
+        BenchmarkContext.insertSlots(jdbcTemplate, venueId, slotsPerVenue);
+        lastSeededId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM time_slots", Long.class);
+
+        timeSlotService = context.getBean(TimeSlotService.class);
+        slotIntervalIndex = context.getBean(SlotIntervalIndex.class);
+        slotIntervalIndex.warmUp();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetSlots() {
+        jdbcTemplate.update("DELETE FROM time_slots WHERE venue_id = ? AND id > ?", venueId, lastSeededId);
+        slotIntervalIndex.warmUp();
+        nextStart = BenchmarkContext.BASE.plusHours(2L * slotsPerVenue);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TimeSlotDTO createSlot() {
+        LocalDateTime start = nextStart;
+        nextStart = start.plusHours(1);
+        return timeSlotService.createSlot(venueId, new TimeSlotDTO(null, null, start, nextStart, null));
+    }
+}
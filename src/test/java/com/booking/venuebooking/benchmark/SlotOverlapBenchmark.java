@@ -0,0 +1,67 @@
+package com.booking.venuebooking.benchmark;
+
+import com.booking.venuebooking.repository.TimeSlotRepository;
+import com.booking.venuebooking.service.SlotIntervalIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overlap check for a new slot: the in-memory interval index against the
+ * existsOverlappingSlot range query it replaced, as the venue fills up.
+ * Probes always fall into a free gap, so both sides do the full check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlotOverlapBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int slotsPerVenue;
+
+    private ConfigurableApplicationContext context;
+    private SlotIntervalIndex slotIntervalIndex;
+    private TimeSlotRepository timeSlotRepository;
+    private long venueId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        venueId = BenchmarkContext.insertVenue(jdbcTemplate, "overlap-benchmark");
+        BenchmarkContext.insertSlots(jdbcTemplate, venueId, slotsPerVenue);
+
+        slotIntervalIndex = context.getBean(SlotIntervalIndex.class);
+        slotIntervalIndex.warmUp();
+        timeSlotRepository = context.getBean(TimeSlotRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean intervalIndex() {
+        LocalDateTime start = probeStart();
+        return slotIntervalIndex.overlaps(venueId, start, start.plusHours(1));
+    }
+
+    @Benchmark
+    public boolean overlapQuery() {
+        LocalDateTime start = probeStart();
+        return timeSlotRepository.existsOverlappingSlot(venueId, start, start.plusHours(1));
+    }
+
+    private LocalDateTime probeStart() {
+        int gap = ThreadLocalRandom.current().nextInt(slotsPerVenue);
+        return BenchmarkContext.BASE.plusHours(2L * gap + 1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.booking.venuebooking.benchmark;
+
+import com.booking.venuebooking.config.CompactEncodingConfig;
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization cost of a large slot list ({@code GET /venues/available-slots} over a month)
+ * as JSON and CBOR, with and without gzip. The body goes to a counting stream, as it would to
+ * the socket; payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlotPayloadBenchmark {
+
+    private static final int VENUES = 100;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"10000"})
+    private int slots;
+
+    private ObjectWriter writer;
+    private List<TimeSlotDTO> payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        writer = ("cbor".equals(format) ? CompactEncodingConfig.cborMapper() : JsonMapper.builder().build()).writer();
+        payload = new ArrayList<>(slots);
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 6, 0);
+        for (int i = 0; i < slots; i++) {
+            LocalDateTime slotStart = start.plusDays(i / VENUES % 30).plusHours(i / (VENUES * 30) % 16);
+            payload.add(new TimeSlotDTO(100_000L + i, 1_000L + i % VENUES, slotStart, slotStart.plusHours(1), true));
+        }
+        System.out.printf("%n%s%s: %d bytes for %d slots%n", format, gzip ? "+gzip" : "", serialize(), slots);
+    }
+
+    @Benchmark
+    public long serialize() throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(counter, 8192) : counter) {
+            writer.writeValue(out, payload);
+        }
+        return counter.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.booking.venuebooking.benchmark;
+
+import com.booking.venuebooking.dto.CursorPage;
+import com.booking.venuebooking.dto.VenueDTO;
+import com.booking.venuebooking.service.VenueService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Venue listing latency as venues and their slots grow: the first page of GET /venues
+ * and a full walk over all pages, which is what the old unpaged listing returned.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VenueListingBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"100", "1000", "10000"})
+    int venues;
+
+    @Param({"0", "20"})
+    int slotsPerVenue;
+
+    private ConfigurableApplicationContext context;
+    private VenueService venueService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Long> venueIds = BenchmarkContext.insertVenues(jdbcTemplate, "listing-benchmark", venues);
+        if (slotsPerVenue > 0) {
+            venueIds.forEach(venueId -> BenchmarkContext.insertSlots(jdbcTemplate, venueId, slotsPerVenue));
+        }
+        venueService = context.getBean(VenueService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<VenueDTO> firstPage() {
+        return venueService.getVenues(null, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public void allPages(Blackhole blackhole) {
+        Long cursor = null;
+        do {
+            CursorPage<VenueDTO> page = venueService.getVenues(cursor, PAGE_SIZE, null);
+            blackhole.consume(page);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+    }
+}
@@ -0,0 +1,117 @@
+package com.booking.venuebooking.config;
+
+import com.booking.venuebooking.TestVenues;
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.repository.VenueRepository;
+import com.booking.venuebooking.service.TimeSlotService;
+import com.booking.venuebooking.service.VenueSlotCounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.TimeZone;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CompactEncodingConfigTest {
+
+    private static final MediaType CBOR = MediaType.valueOf("application/cbor");
+    private static final LocalDateTime START = LocalDateTime.of(2035, 3, 1, 18, 30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private VenueSlotCounts venueSlotCounts;
+
+    private Long venueId;
+
+    @BeforeEach
+    void createSlot() {
+        venueId = TestVenues.create(venueRepository, "Compact Arena");
+        timeSlotService.createSlot(venueId, new TimeSlotDTO(null, null, START, START.plusHours(1), null));
+        venueSlotCounts.flush();
+    }
+
+    @Test
+    void cborClientsGetEpochSecondTimes() throws Exception {
+        MvcResult result = mockMvc.perform(get("/venues/{id}/slots", venueId).accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn();
+
+        JsonNode slot = CompactEncodingConfig.cborMapper().readTree(result.getResponse().getContentAsByteArray()).get(0);
+        assertTrue(slot.get("startTime").isIntegralNumber());
+        assertEquals(START.atZone(ZoneId.systemDefault()).toEpochSecond(), slot.get("startTime").longValue());
+        assertEquals(START.plusHours(1).atZone(ZoneId.systemDefault()).toEpochSecond(), slot.get("endTime").longValue());
+        assertEquals(venueId.longValue(), slot.get("venueId").longValue());
+    }
+
+    @Test
+    void epochSecondsAreTheInstantInTheServerZone() throws Exception {
+        TimeZone serverZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+        try {
+            CBORMapper mapper = CompactEncodingConfig.cborMapper();
+            byte[] body = mapper.writeValueAsBytes(new TimeSlotDTO(1L, venueId, START, START.plusHours(1), true));
+
+            assertEquals(Instant.parse("2035-03-01T13:00:00Z").getEpochSecond(),
+                    mapper.readTree(body).get("startTime").longValue());
+            assertEquals(START, mapper.readValue(body, TimeSlotDTO.class).getStartTime());
+        } finally {
+            TimeZone.setDefault(serverZone);
+        }
+    }
+
+    @Test
+    void otherClientsKeepIsoJson() throws Exception {
+        mockMvc.perform(get("/venues/{id}/slots", venueId).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].startTime").value("2035-03-01T18:30:00"));
+    }
+
+    @Test
+    void etagIsSharedBetweenEncodings() throws Exception {
+        String etag = mockMvc.perform(get("/venues/{id}/slots", venueId))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue(etag.startsWith("W/"));
+
+        mockMvc.perform(get("/venues/{id}/slots", venueId).accept(CBOR).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void cborRoundTripsSlotTimes() throws Exception {
+        CBORMapper mapper = CompactEncodingConfig.cborMapper();
+        TimeSlotDTO slot = new TimeSlotDTO(1L, venueId, START, START.plusHours(1), true);
+        assertEquals(slot, mapper.readValue(mapper.writeValueAsBytes(slot), TimeSlotDTO.class));
+    }
+}
@@ -0,0 +1,221 @@
+package com.booking.venuebooking.config;
+
+import com.booking.venuebooking.TestVenues;
+import com.booking.venuebooking.exception.ResourceNotFoundException;
+import com.booking.venuebooking.repository.VenueRepository;
+import com.booking.venuebooking.service.TimeSlotService;
+import com.booking.venuebooking.service.VenueService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Primary and replica are two separate H2 databases with the same schema and no
+ * replication, so a read served by the replica cannot see rows written to the primary.
+ * The test plays the replication stream by writing heartbeats into the replica itself.
+ */
+@SpringBootTest(properties = {
+        "db.replica.enabled=true",
+        "db.replica.urls=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+        "db.replica.max-lag=PT5S",
+        "db.replica.heartbeat-interval=PT1H",
+        "db.admission.enabled=true"
+})
+class ReplicaRoutingDataSourceTest {
+
+    static final String REPLICA_URL =
+            "jdbc:h2:mem:venue_booking_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VenueService venueService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    private JdbcTemplate replica;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void copySchemaToReplica() throws SQLException {
+        routing = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("DROP ALL OBJECTS");
+        jdbcTemplate.queryForList("SCRIPT NODATA", String.class).forEach(replica::execute);
+    }
+
+    @Test
+    void readOnlyTransactionsUseCaughtUpReplica() {
+        Long venueId = createVenue();
+        long written = System.currentTimeMillis();
+
+        // No heartbeat on the replica yet: reads stay on the primary
+        routing.probe();
+        assertEquals(venueId, venueService.getVenueById(venueId).getId());
+
+        replicate(written + 1);
+        assertThrows(ResourceNotFoundException.class, () -> venueService.getVenueById(venueId));
+
+        // Writes always go to the primary
+        assertTrue(createVenue() > venueId);
+    }
+
+    @Test
+    void pinnedReadsAndCacheFillsUsePrimary() {
+        Long venueId = createVenue();
+        replicate(System.currentTimeMillis() + 1);
+
+        assertEquals(venueId, ReadYourWrites.onPrimary(() -> venueService.getVenueById(venueId)).getId());
+        // The replica has no such venue, so a replica-filled cache entry would be a 404
+        assertTrue(timeSlotService.getSlotsByVenue(venueId).isEmpty());
+    }
+
+    @Test
+    void routerWrapsAdmissionControlOfThePrimary() throws SQLException {
+        assertTrue(dataSource instanceof ReplicaRoutingDataSource);
+        AdmissionControlledDataSource admission = dataSource.unwrap(AdmissionControlledDataSource.class);
+        replicate(System.currentTimeMillis() + 1);
+
+        long before = admission.admitted();
+        venueService.getVenues(null, 50, null);
+        assertEquals(before, admission.admitted());
+        createVenue();
+        assertTrue(admission.admitted() > before);
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        Long venueId = createVenue();
+        replicate(System.currentTimeMillis() - 10_000);
+
+        long before = routing.fallbacks(ReplicaRoutingDataSource.LAGGING);
+        assertEquals(venueId, venueService.getVenueById(venueId).getId());
+        assertEquals(before + 1, routing.fallbacks(ReplicaRoutingDataSource.LAGGING));
+    }
+
+    @Test
+    void clientReadsItsOwnWriteFromPrimary() {
+        long lastWrite;
+        try (ReadYourWrites.Scope scope = ReadYourWrites.open(0)) {
+            replicate(System.currentTimeMillis() - 1_000);
+            createVenue();
+            lastWrite = scope.lastWrite();
+        }
+        assertTrue(lastWrite > 0);
+        assertTrue(venueService.getVenues(null, 50, null).getItems().isEmpty());
+
+        long before = routing.fallbacks(ReplicaRoutingDataSource.READ_YOUR_WRITES);
+        try (ReadYourWrites.Scope ignored = ReadYourWrites.open(lastWrite)) {
+            assertFalse(venueService.getVenues(null, 50, null).getItems().isEmpty());
+        }
+        assertEquals(before + 1, routing.fallbacks(ReplicaRoutingDataSource.READ_YOUR_WRITES));
+
+        // Once the replica has applied a heartbeat written after the booking it serves the client again
+        replicate(lastWrite + 1);
+        try (ReadYourWrites.Scope ignored = ReadYourWrites.open(lastWrite)) {
+            assertTrue(venueService.getVenues(null, 50, null).getItems().isEmpty());
+        }
+    }
+
+    @Test
+    void refusedReplicaIsSkippedForTheNextOneUntilItsNextHeartbeat() throws Exception {
+        JdbcTemplate primary = database("replica_failover_primary");
+        JdbcTemplate first = database("replica_failover_a");
+        JdbcTemplate second = database("replica_failover_b");
+        AtomicBoolean refuse = new AtomicBoolean();
+        AtomicInteger refused = new AtomicInteger();
+        DataSource refusing = new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (refuse.get()) {
+                    refused.incrementAndGet();
+                    throw new SQLException("Connection pool exhausted");
+                }
+                return first.getDataSource().getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return getConnection();
+            }
+        };
+        ReplicaRoutingDataSource failover = new ReplicaRoutingDataSource(primary.getDataSource(),
+                List.of(new ReplicaRoutingDataSource.Replica("a", refusing),
+                        new ReplicaRoutingDataSource.Replica("b", second.getDataSource())),
+                Duration.ofSeconds(5), Duration.ofHours(1));
+        try {
+            long now = System.currentTimeMillis();
+            first.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", now);
+            second.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", now);
+            failover.probe();
+            refuse.set(true);
+
+            assertEquals("replica_failover_b", readOnly(failover));
+            assertEquals("replica_failover_b", readOnly(failover));
+            assertEquals(1, refused.get());
+            assertEquals(0, failover.fallbacks(ReplicaRoutingDataSource.UNAVAILABLE));
+
+            refuse.set(false);
+            failover.probe();
+            assertEquals(List.of("replica_failover_a", "replica_failover_b"),
+                    List.of(readOnly(failover), readOnly(failover)).stream().sorted().toList());
+        } finally {
+            failover.destroy();
+        }
+    }
+
+    private static JdbcTemplate database(String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        jdbc.execute("CREATE TABLE database_name (name VARCHAR(64))");
+        jdbc.update("INSERT INTO database_name (name) VALUES (?)", name);
+        return jdbc;
+    }
+
+    // Names the database that served a read-only statement
+    private static String readOnly(DataSource routed) {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return new JdbcTemplate(routed).queryForObject("SELECT name FROM database_name", String.class);
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private Long createVenue() {
+        return TestVenues.create(venueRepository, "Replica Arena");
+    }
+
+    private void replicate(long beatAt) {
+        replica.update("MERGE INTO replica_heartbeat (id, beat_at) KEY (id) VALUES (1, ?)", beatAt);
+        routing.probe();
+    }
+}
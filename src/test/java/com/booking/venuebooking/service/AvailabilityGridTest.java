@@ -0,0 +1,99 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.dto.AvailabilityGridDTO;
+import com.booking.venuebooking.event.SlotChangedEvent;
+import com.booking.venuebooking.repository.TimeSlotJdbcRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AvailabilityGridTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    private final AvailabilityGrid grid = new AvailabilityGrid(null, 7, 31, 200);
+
+    @Test
+    void tracksFreeAndBusyCells() {
+        // 10:00-11:00 and 11:00-11:20, the second sharing cell 44 with nothing else
+        grid.onSlotChanged(event(1L, 10, 0, 11, 0, SlotChangedEvent.Change.CREATED));
+        grid.onSlotChanged(event(2L, 11, 0, 11, 20, SlotChangedEvent.Change.CREATED));
+        grid.onSlotChanged(event(1L, 10, 0, 11, 0, SlotChangedEvent.Change.BOOKED));
+
+        AvailabilityGridDTO.VenueAvailability venue = grid.grid(List.of(5L), DAY, DAY.plusDays(1)).getVenues().get(0);
+        assertEquals(cells(44, 46), decode(venue.getFree().get(0)));
+        assertEquals(cells(40, 44), decode(venue.getBusy().get(0)));
+        assertEquals(new BitSet(), decode(venue.getFree().get(1)));
+        assertEquals(16, venue.getFree().get(0).length());
+
+        grid.onSlotChanged(event(1L, 10, 0, 11, 0, SlotChangedEvent.Change.RELEASED));
+        venue = grid.grid(List.of(5L), DAY, DAY).getVenues().get(0);
+        assertEquals(cells(40, 46), decode(venue.getFree().get(0)));
+        assertEquals(new BitSet(), decode(venue.getBusy().get(0)));
+    }
+
+    @Test
+    void expiredSlotsAreNeitherFreeNorBusy() {
+        grid.onSlotChanged(event(1L, 10, 0, 11, 0, SlotChangedEvent.Change.CREATED));
+        grid.onSlotChanged(event(2L, 11, 0, 12, 0, SlotChangedEvent.Change.CREATED));
+        grid.onSlotChanged(event(1L, 10, 0, 11, 0, SlotChangedEvent.Change.EXPIRED));
+
+        AvailabilityGridDTO.VenueAvailability venue = grid.grid(List.of(5L), DAY, DAY).getVenues().get(0);
+        assertEquals(cells(44, 48), decode(venue.getFree().get(0)));
+        assertEquals(new BitSet(), decode(venue.getBusy().get(0)));
+    }
+
+    @Test
+    void reloadKeepsEventsThatArrivedWhileLoading() {
+        AvailabilityGrid[] reloading = new AvailabilityGrid[1];
+        reloading[0] = new AvailabilityGrid(new TimeSlotJdbcRepository(null) {
+            @Override
+            public void forEachSlotEndingAfter(LocalDateTime from, SlotConsumer consumer) {
+                consumer.accept(1L, 5L, LocalDateTime.of(DAY, LocalTime.of(10, 0)),
+                        LocalDateTime.of(DAY, LocalTime.of(11, 0)), true);
+                // Committed after the load read its rows
+                reloading[0].onSlotChanged(event(2L, 11, 0, 12, 0, SlotChangedEvent.Change.BOOKED));
+            }
+        }, 7, 31, 200);
+        reloading[0].onSlotChanged(event(3L, 14, 0, 15, 0, SlotChangedEvent.Change.CREATED));
+
+        reloading[0].refresh();
+
+        AvailabilityGridDTO.VenueAvailability venue = reloading[0].grid(List.of(5L), DAY, DAY).getVenues().get(0);
+        // Slot 3 is no longer in time_slots, so the reload drops it
+        assertEquals(cells(40, 44), decode(venue.getFree().get(0)));
+        assertEquals(cells(44, 48), decode(venue.getBusy().get(0)));
+    }
+
+    @Test
+    void rejectsOversizedRanges() {
+        assertThrows(IllegalArgumentException.class, () -> grid.grid(List.of(5L), DAY, DAY.plusDays(31)));
+        assertThrows(IllegalArgumentException.class, () -> grid.grid(List.of(), DAY, DAY));
+        assertThrows(IllegalArgumentException.class, () -> grid.grid(List.of(5L), DAY.minusDays(30), DAY));
+    }
+
+    private static SlotChangedEvent event(Long slotId, int startHour, int startMinute, int endHour, int endMinute,
+                                          SlotChangedEvent.Change change) {
+        return new SlotChangedEvent(slotId, 5L, "7031809",
+                LocalDateTime.of(DAY, LocalTime.of(startHour, startMinute)),
+                LocalDateTime.of(DAY, LocalTime.of(endHour, endMinute)), change);
+    }
+
+    private static BitSet cells(int from, int to) {
+        BitSet bits = new BitSet();
+        bits.set(from, to);
+        return bits;
+    }
+
+    private static BitSet decode(String day) {
+        return BitSet.valueOf(Base64.getDecoder().decode(day));
+    }
+}
@@ -0,0 +1,177 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.TestVenues;
+import com.booking.venuebooking.dto.BookingDTO;
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.event.SlotChangedEvent;
+import com.booking.venuebooking.repository.VenueRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AvailabilityStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Test
+    void subscriberReceivesBookingDelta() throws Exception {
+        Long venueId = TestVenues.create(venueRepository, "Streaming Arena");
+        LocalDateTime start = LocalDateTime.of(2035, 1, 1, 8, 0);
+        Long slotId = timeSlotService.createSlot(venueId,
+                new TimeSlotDTO(null, null, start, start.plusHours(1), null)).getId();
+
+        MvcResult stream = mockMvc.perform(get("/venues/availability-stream").param("venueIds", venueId.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        bookingService.createBooking(new BookingDTO(null, slotId, "Streaming Customer", "stream@example.com",
+                null, null, null, null, null));
+
+        // An event's name and data are separate writes, so wait for the data itself
+        String body = awaitContent(stream, "\"id\":" + slotId + ",");
+        assertTrue(body.startsWith("event:ready"));
+        assertTrue(body.contains("event:slots"));
+        assertTrue(body.contains("\"isAvailable\":false"));
+    }
+
+    @Test
+    void slowSubscriberIsResyncedInsteadOfBuffered() {
+        List<Runnable> sender = new ArrayList<>();
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AvailabilityStream stream = new AvailabilityStream(null, sender::add, registry, 2, 10, 10, Duration.ofMinutes(1),
+                Duration.ofMinutes(1));
+        stream.subscribe(List.of(1L), null);
+
+        // The sender has not run yet: the third delta overflows the two-slot buffer
+        for (long slotId = 1; slotId <= 3; slotId++) {
+            stream.onSlotChanged(booked(slotId));
+        }
+        runAll(sender);
+        assertEquals(1, registry.counter("availability.stream.resyncs", "reason", AvailabilityStream.OVERFLOW).count());
+        assertEquals(0, registry.counter("availability.stream.deltas").count());
+
+        stream.onSlotChanged(booked(4));
+        stream.onSlotChanged(booked(5));
+        runAll(sender);
+        assertEquals(2, registry.counter("availability.stream.deltas").count());
+        assertEquals(1, stream.subscribers());
+    }
+
+    @Test
+    void stalledSubscriberIsDroppedWithoutHoldingUpOthers() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        AtomicBoolean nextStalls = new AtomicBoolean(true);
+        List<SseEmitter.SseEventBuilder> delivered = new CopyOnWriteArrayList<>();
+        ThreadPoolExecutor sender = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AvailabilityStream stream = new AvailabilityStream(null, sender, registry, 8, 10, 10, Duration.ofMinutes(1),
+                Duration.ZERO) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                boolean stalls = nextStalls.getAndSet(false);
+                return new SseEmitter(timeoutMillis) {
+                    @Override
+                    public void send(SseEventBuilder builder) {
+                        if (stalls) {
+                            // A client whose TCP window is full
+                            writing.countDown();
+                            await(unblock);
+                        }
+                        delivered.add(builder);
+                    }
+                };
+            }
+        };
+        try {
+            stream.subscribe(List.of(1L), null);
+            await(writing);
+            stream.dropStalledSubscribers();
+            assertEquals(0, stream.subscribers());
+            assertEquals(1, registry.counter("availability.stream.resyncs", "reason", AvailabilityStream.STALLED).count());
+
+            // The only original sender thread is still blocked, yet the next subscriber is served
+            stream.subscribe(List.of(1L), null);
+            awaitTrue(() -> delivered.size() == 1);
+
+            unblock.countDown();
+            awaitTrue(() -> sender.getCorePoolSize() == 1);
+        } finally {
+            unblock.countDown();
+            sender.shutdownNow();
+        }
+    }
+
+    private static SlotChangedEvent booked(long slotId) {
+        LocalDateTime start = LocalDateTime.of(2035, 1, 1, 8, 0).plusHours(slotId);
+        return new SlotChangedEvent(slotId, 1L, TestVenues.SPORT_ID, start, start.plusHours(1), SlotChangedEvent.Change.BOOKED);
+    }
+
+    private static void runAll(List<Runnable> tasks) {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            body = result.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains(expected), body);
+        return body;
+    }
+}
@@ -0,0 +1,104 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.TestVenues;
+import com.booking.venuebooking.dto.BookingDTO;
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.repository.VenueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingExportServiceTest {
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    private LocalDateTime from;
+
+    private String email;
+
+    @BeforeEach
+    void bookThreeSlots() {
+        from = LocalDateTime.now().minusSeconds(1);
+        email = "export-" + System.nanoTime() + "@example.com";
+        Long venueId = TestVenues.create(venueRepository, "Export Arena");
+
+        LocalDateTime start = LocalDateTime.of(2032, 1, 1, 8, 0);
+        for (int i = 0; i < 3; i++) {
+            TimeSlotDTO slot = timeSlotService.createSlot(venueId,
+                    new TimeSlotDTO(null, null, start.plusHours(i), start.plusHours(i + 1), null));
+            bookingService.createBooking(new BookingDTO(null, slot.getId(), "Doe, \"J\"", email, null, null, null, null, null));
+        }
+    }
+
+    @Test
+    void exportsNdjsonOneObjectPerLine() throws Exception {
+        List<String> lines = export(BookingExportService.Format.NDJSON).stream()
+                .filter(line -> line.contains(email))
+                .toList();
+
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"id\":"));
+        assertTrue(lines.get(0).contains("\"status\":\"CONFIRMED\""));
+    }
+
+    @Test
+    void exportsCsvWithHeaderAndEscaping() throws Exception {
+        List<String> lines = export(BookingExportService.Format.CSV);
+
+        assertTrue(lines.get(0).startsWith("id,slotId,venueId,customerName"));
+        List<String> rows = lines.stream().filter(line -> line.contains(email)).toList();
+        assertEquals(3, rows.size());
+        assertTrue(rows.get(0).contains(",\"Doe, \"\"J\"\"\"," + email + ",,CONFIRMED,"));
+    }
+
+    @Test
+    void csvNeutralisesFormulasInCustomerFields() throws Exception {
+        Long venueId = TestVenues.create(venueRepository, "Formula Arena");
+        LocalDateTime start = LocalDateTime.of(2032, 2, 1, 8, 0);
+        TimeSlotDTO slot = timeSlotService.createSlot(venueId,
+                new TimeSlotDTO(null, null, start, start.plusHours(1), null));
+        bookingService.createBooking(new BookingDTO(null, slot.getId(), "=HYPERLINK(\"http://x\")", email,
+                "+1 555 0100", null, null, null, null));
+
+        String row = export(BookingExportService.Format.CSV).stream()
+                .filter(line -> line.contains("HYPERLINK"))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(row.contains(",\"'=HYPERLINK(\"\"http://x\"\")\"," + email + ",\"'+1 555 0100\",CONFIRMED,"));
+    }
+
+    @Test
+    void emptyNdjsonExportHasNoLines() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingExportService.export(BookingExportService.Format.NDJSON, LocalDateTime.of(1990, 1, 1, 0, 0),
+                LocalDateTime.of(1990, 1, 2, 0, 0), out);
+        assertEquals(0, out.size());
+    }
+
+    private List<String> export(BookingExportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingExportService.export(format, from, LocalDateTime.now().plusSeconds(1), out);
+        return Arrays.asList(out.toString(StandardCharsets.UTF_8).split("\n"));
+    }
+}
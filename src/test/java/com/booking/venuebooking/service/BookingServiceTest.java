@@ -0,0 +1,153 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.TestVenues;
+import com.booking.venuebooking.dto.BookingDTO;
+import com.booking.venuebooking.dto.CartBookingRequest;
+import com.booking.venuebooking.dto.CursorPage;
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.exception.ResourceNotFoundException;
+import com.booking.venuebooking.exception.SlotUnavailableException;
+import com.booking.venuebooking.repository.VenueRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingServiceTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private VenueSlotCounts venueSlotCounts;
+
+    private Long venueId;
+    private final List<Long> bookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void bookFiveSlots() {
+        venueId = TestVenues.create(venueRepository, "Paging Arena");
+
+        LocalDateTime start = LocalDateTime.of(2031, 1, 1, 8, 0);
+        for (int i = 0; i < 5; i++) {
+            TimeSlotDTO slot = timeSlotService.createSlot(venueId,
+                    new TimeSlotDTO(null, null, start.plusHours(i), start.plusHours(i + 1), null));
+            String email = i % 2 == 0 ? "even@example.com" : "odd@example.com";
+            BookingDTO booking = bookingService.createBooking(
+                    new BookingDTO(null, slot.getId(), "Customer " + i, email, null, null, null, null, null));
+            bookingIds.add(booking.getId());
+        }
+    }
+
+    @Test
+    void pagesNewestFirstWithinVenue() {
+        CursorPage<BookingDTO> first = bookingService.getBookings(null, 2, null, null, venueId);
+        assertEquals(List.of(bookingIds.get(4), bookingIds.get(3)), ids(first));
+        assertEquals(venueId, first.getItems().get(0).getSlot().getVenueId());
+
+        CursorPage<BookingDTO> second = bookingService.getBookings(first.getNextCursor(), 2, null, null, venueId);
+        assertEquals(List.of(bookingIds.get(2), bookingIds.get(1)), ids(second));
+
+        CursorPage<BookingDTO> last = bookingService.getBookings(second.getNextCursor(), 2, null, null, venueId);
+        assertEquals(List.of(bookingIds.get(0)), ids(last));
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void readsWithOneQueryAndNoEntities() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BookingDTO booking = bookingService.getBookingById(bookingIds.get(0));
+        bookingService.getBookings(null, 5, null, null, venueId);
+
+        assertEquals(venueId, booking.getSlot().getVenueId());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void filtersByStatusAndEmail() {
+        bookingService.cancelBooking(bookingIds.get(0));
+
+        assertEquals(List.of(bookingIds.get(0)),
+                ids(bookingService.getBookings(null, 10, "cancelled", null, venueId)));
+        assertEquals(List.of(bookingIds.get(4), bookingIds.get(2)),
+                ids(bookingService.getBookings(null, 10, "CONFIRMED", "even@example.com", venueId)));
+    }
+
+    @Test
+    void countsRejectionsByReason() {
+        double unavailable = meterRegistry.counter("booking.rejected", "reason", BookingMetrics.UNAVAILABLE).count();
+        double notFound = meterRegistry.counter("booking.rejected", "reason", BookingMetrics.NOT_FOUND).count();
+        BookingDTO taken = bookingService.getBookingById(bookingIds.get(0));
+
+        assertThrows(SlotUnavailableException.class, () -> bookingService.createBooking(
+                new BookingDTO(null, taken.getSlotId(), "Late", "late@example.com", null, null, null, null, null)));
+        assertThrows(ResourceNotFoundException.class, () -> bookingService.createBooking(
+                new BookingDTO(null, Long.MAX_VALUE / 2, "Lost", "lost@example.com", null, null, null, null, null)));
+
+        assertEquals(unavailable + 1,
+                meterRegistry.counter("booking.rejected", "reason", BookingMetrics.UNAVAILABLE).count());
+        assertEquals(notFound + 1,
+                meterRegistry.counter("booking.rejected", "reason", BookingMetrics.NOT_FOUND).count());
+        assertTrue(meterRegistry.get("booking.create").tag("outcome", BookingMetrics.REJECTED).timer().count() >= 2);
+    }
+
+    @Test
+    void booksCartAllOrNothing() {
+        LocalDateTime start = LocalDateTime.of(2031, 1, 1, 14, 0);
+        List<Long> cart = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            cart.add(timeSlotService.createSlot(venueId,
+                    new TimeSlotDTO(null, null, start.plusHours(i), start.plusHours(i + 1), null)).getId());
+        }
+        Long taken = bookingService.getBookingById(bookingIds.get(0)).getSlotId();
+
+        List<Long> withTaken = new ArrayList<>(cart);
+        withTaken.add(taken);
+        assertThrows(SlotUnavailableException.class, () -> bookingService.createBookings(
+                new CartBookingRequest(withTaken, "Cart", "cart@example.com", null)));
+        assertTrue(timeSlotService.getSlotsByVenue(venueId).stream()
+                .filter(slot -> cart.contains(slot.getId()))
+                .allMatch(TimeSlotDTO::getIsAvailable));
+
+        List<BookingDTO> booked = bookingService.createBookings(
+                new CartBookingRequest(List.of(cart.get(2), cart.get(0), cart.get(1)), "Cart", "cart@example.com", null));
+        assertEquals(cart, booked.stream().map(BookingDTO::getSlotId).toList());
+        assertTrue(booked.stream().allMatch(booking -> "CONFIRMED".equals(booking.getStatus())));
+        assertTrue(booked.stream().noneMatch(booking -> booking.getSlot().getIsAvailable()));
+        venueSlotCounts.flush();
+        assertEquals(0, venueRepository.findById(venueId).orElseThrow().getAvailableSlotsCount());
+    }
+
+    private static List<Long> ids(CursorPage<BookingDTO> page) {
+        return page.getItems().stream().map(BookingDTO::getId).toList();
+    }
+}
@@ -0,0 +1,116 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.TestVenues;
+import com.booking.venuebooking.dto.BookingDTO;
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.exception.BookingException;
+import com.booking.venuebooking.exception.SlotUnavailableException;
+import com.booking.venuebooking.repository.TimeSlotRepository;
+import com.booking.venuebooking.repository.VenueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "booking.hold.ttl=PT0.5S")
+class HoldExpiryQueueTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private VenueSlotCounts venueSlotCounts;
+
+    @Autowired
+    private HoldExpiryQueue holdExpiryQueue;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long venueId;
+    private Long slotId;
+
+    @BeforeEach
+    void createSlot() {
+        venueId = TestVenues.create(venueRepository, "Checkout Arena");
+
+        LocalDateTime start = LocalDateTime.of(2033, 1, 1, 8, 0);
+        slotId = timeSlotService.createSlot(venueId,
+                new TimeSlotDTO(null, null, start, start.plusHours(1), null)).getId();
+    }
+
+    @Test
+    void confirmedHoldKeepsSlot() {
+        BookingDTO held = bookingService.holdSlot(request());
+        assertEquals("HELD", held.getStatus());
+        assertThrows(SlotUnavailableException.class, () -> bookingService.holdSlot(request()));
+
+        BookingDTO confirmed = bookingService.confirmHold(held.getId());
+        assertEquals("CONFIRMED", confirmed.getStatus());
+
+        sleepPastExpiry();
+        assertEquals("CONFIRMED", bookingService.getBookingById(held.getId()).getStatus());
+        assertFalse(timeSlotRepository.findById(slotId).orElseThrow().getIsAvailable());
+        assertThrows(BookingException.class, () -> bookingService.releaseHold(held.getId()));
+    }
+
+    @Test
+    void expiredHoldReleasesSlot() {
+        BookingDTO held = bookingService.holdSlot(request());
+        venueSlotCounts.flush();
+        assertEquals(0, venueRepository.findById(venueId).orElseThrow().getAvailableSlotsCount());
+
+        sleepPastExpiry();
+
+        assertEquals("EXPIRED", bookingService.getBookingById(held.getId()).getStatus());
+        assertTrue(timeSlotRepository.findById(slotId).orElseThrow().getIsAvailable());
+        venueSlotCounts.flush();
+        assertEquals(1, venueRepository.findById(venueId).orElseThrow().getAvailableSlotsCount());
+        assertThrows(BookingException.class, () -> bookingService.confirmHold(held.getId()));
+    }
+
+    @Test
+    void sweepExpiresHoldsThisInstanceNeverQueued() {
+        // A hold taken by an instance that went away before it expired
+        LocalDateTime expiredAt = LocalDateTime.now().minusMinutes(1);
+        jdbcTemplate.update("UPDATE time_slots SET is_available = FALSE WHERE id = ?", slotId);
+        jdbcTemplate.update("INSERT INTO bookings (slot_id, customer_name, customer_email, status, booking_date, " +
+                "hold_expires_at, created_at, updated_at) VALUES (?, 'Gone Customer', 'gone@example.com', 'HELD', ?, ?, ?, ?)",
+                slotId, expiredAt, expiredAt, expiredAt, expiredAt);
+        Long bookingId = jdbcTemplate.queryForObject("SELECT id FROM bookings WHERE slot_id = ?", Long.class, slotId);
+
+        holdExpiryQueue.sweep();
+
+        assertEquals("EXPIRED", bookingService.getBookingById(bookingId).getStatus());
+        assertTrue(timeSlotRepository.findById(slotId).orElseThrow().getIsAvailable());
+    }
+
+    private BookingDTO request() {
+        return new BookingDTO(null, slotId, "Paying Customer", "pay@example.com", null, null, null, null, null);
+    }
+
+    private static void sleepPastExpiry() {
+        try {
+            Thread.sleep(1500);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
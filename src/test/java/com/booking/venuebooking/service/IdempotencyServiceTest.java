@@ -0,0 +1,143 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.TestVenues;
+import com.booking.venuebooking.dto.BookingDTO;
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.entity.IdempotencyKey;
+import com.booking.venuebooking.exception.IdempotencyKeyInProgressException;
+import com.booking.venuebooking.exception.IdempotencyKeyMismatchException;
+import com.booking.venuebooking.exception.ResourceNotFoundException;
+import com.booking.venuebooking.repository.BookingRepository;
+import com.booking.venuebooking.repository.IdempotencyKeyRepository;
+import com.booking.venuebooking.repository.VenueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private Long slotId;
+
+    @BeforeEach
+    void createSlot() {
+        Long venueId = TestVenues.create(venueRepository, "Replay Arena");
+
+        LocalDateTime start = LocalDateTime.of(2032, 1, 1, 8, 0);
+        slotId = timeSlotService.createSlot(venueId,
+                new TimeSlotDTO(null, null, start, start.plusHours(1), null)).getId();
+    }
+
+    @Test
+    void replaysOriginalBookingForSameKey() {
+        String key = UUID.randomUUID().toString();
+        BookingDTO request = new BookingDTO(null, slotId, "Retry Customer", "retry@example.com", null, null, null, null, null);
+        long bookingsBefore = bookingRepository.count();
+
+        IdempotencyService.Result first = idempotencyService.createBooking(key, request);
+        IdempotencyService.Result second = idempotencyService.createBooking(key, request);
+
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertEquals(first.booking().getId(), second.booking().getId());
+        assertEquals(bookingsBefore + 1, bookingRepository.count());
+        assertEquals(first.booking().getId(), idempotencyKeyRepository.findById(key).orElseThrow().getBookingId());
+    }
+
+    @Test
+    void takesOverClaimAbandonedBeforeItsBookingCommitted() {
+        String key = UUID.randomUUID().toString();
+        BookingDTO request = new BookingDTO(null, slotId, "Crash Customer", "crash@example.com", null, null, null, null, null);
+        LocalDateTime claimed = LocalDateTime.now().minusHours(1);
+        idempotencyKeyRepository.save(new IdempotencyKey(key, IdempotencyService.fingerprint(request), null,
+                claimed, claimed.plusDays(1)));
+
+        IdempotencyService.Result result = idempotencyService.createBooking(key, request);
+
+        assertFalse(result.replayed());
+        assertEquals(result.booking().getId(), idempotencyKeyRepository.findById(key).orElseThrow().getBookingId());
+    }
+
+    @Test
+    void releasesClaimWhenBookingFails() {
+        String key = UUID.randomUUID().toString();
+        BookingDTO request = new BookingDTO(null, Long.MAX_VALUE, "Lost Customer", "lost@example.com", null, null, null, null, null);
+
+        assertThrows(ResourceNotFoundException.class, () -> idempotencyService.createBooking(key, request));
+        assertFalse(idempotencyKeyRepository.existsById(key));
+    }
+
+    @Test
+    void rejectsKeyReusedForDifferentRequest() {
+        String key = UUID.randomUUID().toString();
+        idempotencyService.createBooking(key,
+                new BookingDTO(null, slotId, "First Customer", "first@example.com", null, null, null, null, null));
+
+        assertThrows(IdempotencyKeyMismatchException.class, () -> idempotencyService.createBooking(key,
+                new BookingDTO(null, slotId, "Other Customer", "other@example.com", null, null, null, null, null)));
+    }
+
+    @Test
+    void rejectsKeyClaimedForDifferentRequest() {
+        String key = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyKeyRepository.save(new IdempotencyKey(key, "other", null, now, now.plusDays(1)));
+
+        assertThrows(IdempotencyKeyMismatchException.class, () -> idempotencyService.createBooking(key,
+                new BookingDTO(null, slotId, "Late Customer", "late@example.com", null, null, null, null, null)));
+    }
+
+    @Test
+    void rejectsRetryWhileKeyIsStillClaimed() {
+        String key = UUID.randomUUID().toString();
+        BookingDTO request = new BookingDTO(null, slotId, "Busy Customer", "busy@example.com", null, null, null, null, null);
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyKeyRepository.save(new IdempotencyKey(key, IdempotencyService.fingerprint(request), null,
+                now, now.plusDays(1)));
+
+        long started = System.nanoTime();
+        assertThrows(IdempotencyKeyInProgressException.class, () -> idempotencyService.createBooking(key, request));
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(5));
+        assertNull(idempotencyKeyRepository.findById(key).orElseThrow().getBookingId());
+    }
+
+    @Test
+    void purgesOnlyExpiredKeys() {
+        LocalDateTime now = LocalDateTime.now();
+        String expired = UUID.randomUUID().toString();
+        String live = UUID.randomUUID().toString();
+        idempotencyKeyRepository.save(new IdempotencyKey(expired, "x", 1L, now.minusDays(2), now.minusDays(1)));
+        idempotencyKeyRepository.save(new IdempotencyKey(live, "x", 1L, now, now.plusDays(1)));
+
+        idempotencyService.purgeExpired();
+
+        assertFalse(idempotencyKeyRepository.existsById(expired));
+        assertTrue(idempotencyKeyRepository.existsById(live));
+    }
+}
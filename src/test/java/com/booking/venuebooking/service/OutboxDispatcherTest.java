@@ -0,0 +1,211 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.TestVenues;
+import com.booking.venuebooking.dto.BookingDTO;
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.entity.OutboxEvent;
+import com.booking.venuebooking.exception.BookingException;
+import com.booking.venuebooking.repository.OutboxJdbcRepository;
+import com.booking.venuebooking.repository.VenueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "outbox.dispatch-interval=PT1H",
+        "outbox.retry-backoff=PT0S",
+        "outbox.max-attempts=2"
+})
+class OutboxDispatcherTest {
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private RecordingSink sink;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private OutboxJdbcRepository outboxJdbcRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long venueId;
+    private Long slotId;
+
+    @BeforeEach
+    void createSlot() {
+        venueId = TestVenues.create(venueRepository, "Outbox Arena");
+
+        slotId = createSlot(LocalDateTime.of(2034, 1, 1, 8, 0));
+        outboxDispatcher.dispatch();
+        sink.received.clear();
+        sink.rejected.clear();
+    }
+
+    @Test
+    void deliversCreatedThenCancelledOnce() {
+        BookingDTO booking = bookingService.createBooking(
+                new BookingDTO(null, slotId, "Outbox Customer", "outbox@example.com", null, null, null, null, null));
+        bookingService.cancelBooking(booking.getId());
+
+        assertEquals(2, outboxDispatcher.dispatch());
+        assertEquals(List.of("BOOKING_CREATED", "BOOKING_CANCELLED"),
+                sink.received.stream().map(OutboxEvent::getEventType).toList());
+        assertEquals(booking.getId(), sink.received.get(0).getAggregateId());
+
+        assertEquals(0, outboxDispatcher.dispatch());
+        assertEquals(2, sink.received.size());
+    }
+
+    @Test
+    void concurrentCancelsWriteOneEvent() throws Exception {
+        BookingDTO booking = book(slotId);
+        CyclicBarrier start = new CyclicBarrier(2);
+        List<CompletableFuture<Boolean>> cancels = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            cancels.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await(10, TimeUnit.SECONDS);
+                    bookingService.cancelBooking(booking.getId());
+                    return true;
+                } catch (BookingException ex) {
+                    return false;
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }));
+        }
+
+        long succeeded = 0;
+        for (CompletableFuture<Boolean> cancel : cancels) {
+            succeeded += cancel.get(10, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        assertEquals(1, succeeded);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events " +
+                "WHERE event_type = 'BOOKING_CANCELLED' AND aggregate_id = ?", Integer.class, booking.getId()));
+    }
+
+    @Test
+    void redeliversAfterSinkFailure() {
+        bookingService.createBooking(
+                new BookingDTO(null, slotId, "Outbox Customer", "outbox@example.com", null, null, null, null, null));
+
+        sink.failing.set(true);
+        assertEquals(0, outboxDispatcher.dispatch());
+        sink.failing.set(false);
+
+        assertEquals(1, outboxDispatcher.dispatch());
+        assertEquals(1, sink.received.size());
+    }
+
+    @Test
+    void deadLettersPoisonEventAndDeliversTheRest() {
+        BookingDTO poison = book(slotId);
+        BookingDTO next = book(createSlot(LocalDateTime.of(2034, 1, 1, 10, 0)));
+        sink.rejected.add(poison.getId());
+
+        assertEquals(0, outboxDispatcher.dispatch());
+        assertTrue(sink.received.isEmpty());
+
+        assertEquals(1, outboxDispatcher.dispatch());
+        assertEquals(List.of(next.getId()), sink.received.stream().map(OutboxEvent::getAggregateId).toList());
+        assertEquals(0, outboxDispatcher.dispatch());
+    }
+
+    @Test
+    void waitsForLowerIdThatHasNotCommitted() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> pending = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(tx -> {
+            outboxJdbcRepository.append(List.of(new OutboxEvent(null, "BOOKING_CREATED", -1L, venueId, "{}",
+                    LocalDateTime.now(), null, null, 0)));
+            inserted.countDown();
+            await(commit);
+        }));
+        await(inserted);
+        book(slotId);
+
+        assertEquals(0, outboxDispatcher.dispatch());
+
+        commit.countDown();
+        pending.get(10, TimeUnit.SECONDS);
+        assertEquals(2, outboxDispatcher.dispatch());
+        assertEquals(List.of(-1L), sink.received.stream().limit(1).map(OutboxEvent::getAggregateId).toList());
+    }
+
+    private Long createSlot(LocalDateTime start) {
+        return timeSlotService.createSlot(venueId,
+                new TimeSlotDTO(null, null, start, start.plusHours(1), null)).getId();
+    }
+
+    private BookingDTO book(Long slot) {
+        return bookingService.createBooking(
+                new BookingDTO(null, slot, "Outbox Customer", "outbox@example.com", null, null, null, null, null));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    static class RecordingSink implements OutboxSink {
+
+        final List<OutboxEvent> received = new ArrayList<>();
+        final AtomicBoolean failing = new AtomicBoolean();
+        final Set<Long> rejected = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void send(List<OutboxEvent> events) {
+            if (failing.get() || events.stream().anyMatch(event -> rejected.contains(event.getAggregateId()))) {
+                throw new IllegalStateException("sink down");
+            }
+            received.addAll(events);
+        }
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+
+        @Bean
+        @Primary
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.TestVenues;
+import com.booking.venuebooking.dto.BookingDTO;
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.repository.BookingRepository;
+import com.booking.venuebooking.repository.TimeSlotRepository;
+import com.booking.venuebooking.repository.VenueRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "retention.archive-after=P30D",
+        "retention.batch-size=2",
+        "retention.throttle-ratio=0"
+})
+class RetentionServiceTest {
+
+    @Autowired
+    private RetentionService retentionService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SlotIntervalIndex slotIntervalIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VenueSlotCounts venueSlotCounts;
+
+    @Autowired
+    private UnavailableSlotCache unavailableSlotCache;
+
+    @Test
+    void expiresEndedSlotsAndArchivesOldOnes() {
+        Long venueId = createVenue();
+        LocalDateTime old = LocalDateTime.now().minusDays(60).withNano(0);
+        LocalDateTime recent = LocalDateTime.now().minusDays(2).withNano(0);
+        LocalDateTime future = LocalDateTime.now().plusDays(2).withNano(0);
+
+        List<Long> oldSlots = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            oldSlots.add(createSlot(venueId, old.plusHours(i)));
+        }
+        Long recentSlot = createSlot(venueId, recent);
+        Long futureSlot = createSlot(venueId, future);
+        Long booking = bookingService.createBooking(
+                new BookingDTO(null, oldSlots.get(0), "Past Customer", "past@example.com",
+                        null, null, null, null, null)).getId();
+        venueSlotCounts.flush();
+        assertEquals(4, venueRepository.findById(venueId).orElseThrow().getAvailableSlotsCount());
+
+        assertEquals(3, retentionService.expireEndedSlots());
+        assertFalse(timeSlotRepository.findById(recentSlot).orElseThrow().getIsAvailable());
+        assertTrue(timeSlotRepository.findById(futureSlot).orElseThrow().getIsAvailable());
+        // Expiry publishes slot events, so the caches do not wait for their reload
+        assertTrue(unavailableSlotCache.isUnavailable(recentSlot));
+        venueSlotCounts.flush();
+        assertEquals(1, venueRepository.findById(venueId).orElseThrow().getAvailableSlotsCount());
+        assertEquals(0, retentionService.expireEndedSlots());
+        assertEquals(5, timeSlotService.getSlotsByVenue(venueId).size());
+
+        RetentionService.ArchiveResult archived = retentionService.archiveEndedSlots();
+        assertEquals(3, archived.slots());
+        assertEquals(1, archived.bookings());
+        oldSlots.forEach(id -> assertTrue(timeSlotRepository.findById(id).isEmpty()));
+        assertTrue(bookingRepository.findById(booking).isEmpty());
+        assertTrue(timeSlotRepository.findById(recentSlot).isPresent());
+        assertEquals(3, count("SELECT COUNT(*) FROM time_slots_archive WHERE venue_id = ?", venueId));
+        assertEquals(1, count("SELECT COUNT(*) FROM bookings_archive WHERE id = ? AND slot_start_time = ?",
+                booking, old));
+        assertFalse(slotIntervalIndex.overlaps(venueId, old, old.plusHours(3)));
+        assertTrue(slotIntervalIndex.overlaps(venueId, recent, recent.plusHours(1)));
+        // Archiving publishes a bulk removal, so the cached slot list is dropped on commit
+        assertEquals(2, timeSlotService.getSlotsByVenue(venueId).size());
+        assertFalse(unavailableSlotCache.isUnavailable(oldSlots.get(1)));
+    }
+
+    private Long createVenue() {
+        return TestVenues.create(venueRepository, "Retention Arena");
+    }
+
+    private Long createSlot(Long venueId, LocalDateTime start) {
+        return timeSlotService.createSlot(venueId,
+                new TimeSlotDTO(null, null, start, start.plusHours(1), null)).getId();
+    }
+
+    private int count(String sql, Object... args) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, args);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,39 @@
+package com.booking.venuebooking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotIntervalIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 12, 1, 10, 0);
+
+    private final SlotIntervalIndex index = new SlotIntervalIndex(null);
+
+    @Test
+    void rejectsOverlapsAndAcceptsAdjacentSlots() {
+        assertTrue(index.tryReserve(1L, BASE, BASE.plusHours(2)));
+
+        assertTrue(index.overlaps(1L, BASE.plusHours(1), BASE.plusHours(3)));
+        assertTrue(index.overlaps(1L, BASE.minusHours(1), BASE.plusMinutes(1)));
+        assertTrue(index.overlaps(1L, BASE.plusMinutes(30), BASE.plusMinutes(90)));
+        assertFalse(index.tryReserve(1L, BASE.minusHours(1), BASE.plusHours(5)));
+
+        assertTrue(index.tryReserve(1L, BASE.plusHours(2), BASE.plusHours(3)));
+        assertTrue(index.tryReserve(1L, BASE.minusHours(1), BASE));
+        assertTrue(index.tryReserve(2L, BASE, BASE.plusHours(2)));
+    }
+
+    @Test
+    void removedSlotsFreeTheirInterval() {
+        assertTrue(index.tryReserve(1L, BASE, BASE.plusHours(1)));
+        index.remove(1L, BASE);
+        assertTrue(index.tryReserve(1L, BASE.plusMinutes(30), BASE.plusHours(1)));
+
+        index.removeVenue(1L);
+        assertFalse(index.overlaps(1L, BASE, BASE.plusHours(1)));
+    }
+}
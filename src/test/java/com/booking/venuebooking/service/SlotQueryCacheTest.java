@@ -0,0 +1,96 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.event.SlotChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class SlotQueryCacheTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 3, 1, 0, 0);
+
+    private final SlotQueryCache cache = new SlotQueryCache(new SimpleMeterRegistry(), 1000, Duration.ofMinutes(5));
+
+    @Test
+    void invalidatesOnlyWindowsEnclosingTheChangedSlot() {
+        AtomicInteger loads = new AtomicInteger();
+        Runnable readBoth = () -> {
+            cache.getAvailableSlots("cricket", DAY, DAY.plusDays(1), () -> load(loads));
+            cache.getAvailableSlots("cricket", DAY.plusDays(1), DAY.plusDays(2), () -> load(loads));
+            cache.getAvailableSlots("football", DAY, DAY.plusDays(1), () -> load(loads));
+        };
+
+        readBoth.run();
+        readBoth.run();
+        assertEquals(3, loads.get());
+
+        LocalDateTime ten = DAY.plusHours(10);
+        cache.onSlotChanged(new SlotChangedEvent(1L, 1L, "cricket", ten, ten.plusHours(1),
+                SlotChangedEvent.Change.BOOKED));
+
+        readBoth.run();
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void invalidatesTheVenueList() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getVenueSlots(1L, () -> load(loads));
+        cache.getVenueSlots(2L, () -> load(loads));
+
+        cache.onSlotChanged(new SlotChangedEvent(1L, 1L, "cricket", DAY, DAY.plusHours(1),
+                SlotChangedEvent.Change.RELEASED));
+        cache.getVenueSlots(1L, () -> load(loads));
+        cache.getVenueSlots(2L, () -> load(loads));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void loadThatStraddledAnInvalidationIsNotKept() {
+        AtomicInteger loads = new AtomicInteger();
+        SlotChangedEvent booked = new SlotChangedEvent(1L, 1L, "cricket", DAY.plusHours(9), DAY.plusHours(10),
+                SlotChangedEvent.Change.BOOKED);
+        // The booking commits after the loader's query ran but before its result is stored
+        cache.getAvailableSlots("cricket", DAY, DAY.plusDays(1), () -> {
+            List<TimeSlotDTO> slots = load(loads);
+            CompletableFuture.runAsync(() -> cache.onSlotChanged(booked)).join();
+            return slots;
+        });
+
+        cache.getAvailableSlots("cricket", DAY, DAY.plusDays(1), () -> load(loads));
+        cache.getAvailableSlots("cricket", DAY, DAY.plusDays(1), () -> load(loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void venueEtagFollowsTheCachedList() {
+        TimeSlotDTO free = new TimeSlotDTO(7L, 1L, DAY, DAY.plusHours(1), true);
+        TimeSlotDTO booked = new TimeSlotDTO(7L, 1L, DAY, DAY.plusHours(1), false);
+
+        SlotQueryCache.VenueSlots before = cache.getVenueSlots(1L, () -> List.of(free));
+        assertEquals(before, cache.getVenueSlots(1L, () -> List.of(booked)));
+
+        cache.onSlotChanged(new SlotChangedEvent(7L, 1L, "cricket", DAY, DAY.plusHours(1),
+                SlotChangedEvent.Change.BOOKED));
+        SlotQueryCache.VenueSlots after = cache.getVenueSlots(1L, () -> List.of(booked));
+
+        assertEquals(List.of(booked), after.slots());
+        assertNotEquals(before.etag(), after.etag());
+    }
+
+    private static List<TimeSlotDTO> load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return List.of();
+    }
+}
@@ -0,0 +1,184 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.dto.SportDTO;
+import com.booking.venuebooking.entity.Sport;
+import com.booking.venuebooking.repository.SportJdbcRepository;
+import com.booking.venuebooking.repository.SportRepository;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the sync against a stub sports API on a local port. Each request takes the next
+ * scripted response; the scheduled sync is pushed out so only the test calls it.
+ */
+@SpringBootTest
+class SportsSyncServiceTest {
+
+    private static final HttpServer STUB = startStub();
+    private static final Deque<StubResponse> RESPONSES = new ArrayDeque<>();
+
+    @Autowired
+    private SportsSyncService sportsSyncService;
+
+    @Autowired
+    private SportRepository sportRepository;
+
+    @Autowired
+    private SportCatalog sportCatalog;
+
+    @Autowired
+    private SportJdbcRepository sportJdbcRepository;
+
+    @DynamicPropertySource
+    static void stubApi(DynamicPropertyRegistry registry) {
+        registry.add("sports.api.url", () -> "http://localhost:" + STUB.getAddress().getPort() + "/sportslist/");
+        registry.add("sports.api.read-timeout", () -> "PT0.5S");
+        registry.add("sports.api.max-attempts", () -> "3");
+        registry.add("sports.api.backoff", () -> "PT0.05S");
+        registry.add("sports.sync.initial-delay", () -> "PT1H");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.stop(0);
+    }
+
+    @BeforeEach
+    void clearResponses() {
+        synchronized (RESPONSES) {
+            RESPONSES.clear();
+        }
+    }
+
+    @Test
+    void insertsNewAndUpdatesChangedSportsAfterRetryingFailures() {
+        respond(200, 0, sports("9000001", "stub_a", "Stub A", "9000002", "stub_b", "Stub B"));
+        assertEquals(2, sportsSyncService.sync());
+
+        respond(503, 0, "");
+        respond(200, 1000, "");
+        String updated = sports("9000001", "stub_a", "Stub A", "9000002", "stub_b", "Stub Bee",
+                "9000003", "stub_c", "Stub C");
+        respond(200, 0, updated);
+        assertEquals(2, sportsSyncService.sync());
+        assertEquals(0, remaining());
+
+        assertEquals("Stub Bee", sportName("9000002"));
+        assertEquals("Stub C", sportName("9000003"));
+        assertEquals("9000002", sportCatalog.findByName("  stub BEE ").orElseThrow().getSportId());
+        assertEquals("Stub C", sportCatalog.resolve("9000003").orElseThrow().getSportName());
+        assertTrue(sportCatalog.findByName("Stub B").isEmpty());
+
+        respond(200, 0, updated);
+        assertEquals(0, sportsSyncService.sync());
+    }
+
+    @Test
+    void picksUpSportsAnotherInstanceAlreadyWrote() {
+        SportDTO written = new SportDTO();
+        written.setSport_id("9000010");
+        written.setSport_code("stub_peer");
+        written.setSport_name("Stub Peer");
+        sportJdbcRepository.batchUpsert(List.of(written));
+        assertTrue(sportCatalog.findBySportId("9000010").isEmpty());
+
+        respond(200, 0, sports("9000010", "stub_peer", "Stub Peer"));
+        assertEquals(0, sportsSyncService.sync());
+        assertEquals("9000010", sportCatalog.findByName("Stub Peer").orElseThrow().getSportId());
+    }
+
+    @Test
+    void keepsExistingSportsWhenApiStaysDown() {
+        long before = sportRepository.count();
+        respond(500, 0, "");
+        respond(500, 0, "");
+        respond(500, 0, "");
+
+        assertEquals(0, sportsSyncService.sync());
+        assertEquals(before, sportRepository.count());
+        assertEquals(0, remaining());
+    }
+
+    private String sportName(String sportId) {
+        return sportRepository.findAll().stream()
+                .filter(sport -> sport.getSportId().equals(sportId))
+                .map(Sport::getSportName)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String sports(String... fields) {
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < fields.length; i += 3) {
+            if (i > 0) {
+                data.append(',');
+            }
+            data.append("{\"sport_id\":\"").append(fields[i])
+                    .append("\",\"sport_code\":\"").append(fields[i + 1])
+                    .append("\",\"sport_name\":\"").append(fields[i + 2]).append("\"}");
+        }
+        return "{\"status\":\"success\",\"msg\":\"ok\",\"data\":[" + data + "]}";
+    }
+
+    private static void respond(int status, long delayMillis, String body) {
+        synchronized (RESPONSES) {
+            RESPONSES.add(new StubResponse(status, delayMillis, body));
+        }
+    }
+
+    private static int remaining() {
+        synchronized (RESPONSES) {
+            return RESPONSES.size();
+        }
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/sportslist/", exchange -> {
+                StubResponse response;
+                synchronized (RESPONSES) {
+                    response = RESPONSES.poll();
+                }
+                if (response == null) {
+                    response = new StubResponse(200, 0, sports());
+                }
+                try {
+                    Thread.sleep(response.delayMillis());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(response.status(), body.length == 0 ? -1 : body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private record StubResponse(int status, long delayMillis, String body) {
+    }
+}
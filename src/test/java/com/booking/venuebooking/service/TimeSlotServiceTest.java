@@ -0,0 +1,112 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.TestVenues;
+import com.booking.venuebooking.dto.BulkSlotRequest;
+import com.booking.venuebooking.dto.BulkSlotResponse;
+import com.booking.venuebooking.dto.RecurrenceRule;
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.exception.SlotOverlapException;
+import com.booking.venuebooking.repository.TimeSlotRepository;
+import com.booking.venuebooking.repository.VenueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class TimeSlotServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 3, 1);
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VenueSlotCounts venueSlotCounts;
+
+    private Long venueId;
+
+    @BeforeEach
+    void createVenue() {
+        venueId = TestVenues.create(venueRepository, "Bulk Arena");
+    }
+
+    @Test
+    void recurrenceCreatesEveryBlockOfEveryDay() {
+        RecurrenceRule rule = new RecurrenceRule(DAY, DAY.plusDays(1),
+                LocalTime.of(6, 0), LocalTime.of(22, 0), 60, null);
+
+        BulkSlotResponse response = timeSlotService.createSlots(venueId, new BulkSlotRequest(null, rule));
+
+        assertEquals(32, response.getCreatedCount());
+        assertEquals(DAY.atTime(6, 0), response.getFirstStartTime());
+        assertEquals(DAY.plusDays(1).atTime(22, 0), response.getLastEndTime());
+        assertEquals(32, timeSlotRepository.findByVenueId(venueId).size());
+        // The test transaction never commits, so recount explicitly instead of waiting for a flush
+        venueSlotCounts.recount(List.of(venueId));
+        assertEquals(32, jdbcTemplate.queryForObject(
+                "SELECT available_slots_count FROM venues WHERE id = ?", Integer.class, venueId));
+    }
+
+    @Test
+    void startupRecountRepairsCountsWhoseMarksWereLost() {
+        LocalDateTime ten = DAY.atTime(10, 0);
+        timeSlotService.createSlot(venueId, slot(ten, ten.plusHours(1)));
+        // As if the instance stopped after the commit but before flushing the venue's mark
+        jdbcTemplate.update("UPDATE venues SET available_slots_count = 0 WHERE id = ?", venueId);
+
+        venueSlotCounts.recountOnStartup();
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT available_slots_count FROM venues WHERE id = ?", Integer.class, venueId));
+    }
+
+    @Test
+    void rejectsOverlapWithExistingSlotsAndInsideTheBatch() {
+        LocalDateTime ten = DAY.atTime(10, 0);
+        timeSlotService.createSlot(venueId, slot(ten, ten.plusHours(1)));
+
+        assertThrows(SlotOverlapException.class, () -> timeSlotService.createSlots(venueId,
+                new BulkSlotRequest(List.of(slot(ten.plusMinutes(30), ten.plusHours(2))), null)));
+
+        assertThrows(SlotOverlapException.class, () -> timeSlotService.createSlots(venueId,
+                new BulkSlotRequest(List.of(
+                        slot(ten.plusHours(3), ten.plusHours(5)),
+                        slot(ten.plusHours(4), ten.plusHours(6))), null)));
+
+        assertEquals(1, timeSlotRepository.findByVenueId(venueId).size());
+    }
+
+    @Test
+    void rejectsRecurrenceThatEndsBeforeItStartsEachDay() {
+        // An overnight window would otherwise create nothing and report "a rule is required"
+        RecurrenceRule rule = new RecurrenceRule(DAY, DAY, LocalTime.of(22, 0), LocalTime.of(6, 0), 60, null);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> timeSlotService.createSlots(venueId, new BulkSlotRequest(null, rule)));
+        assertEquals("Recurrence daily end time must be after daily start time", ex.getMessage());
+    }
+
+    private static TimeSlotDTO slot(LocalDateTime start, LocalDateTime end) {
+        return new TimeSlotDTO(null, null, start, end, null);
+    }
+}
@@ -0,0 +1,56 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.event.SlotChangedEvent;
+import com.booking.venuebooking.repository.TimeSlotJdbcRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UnavailableSlotCacheTest {
+
+    private final UnavailableSlotCache cache = new UnavailableSlotCache(null);
+
+    @Test
+    void tracksBookedAndReleasedSlots() {
+        cache.onSlotChanged(event(7L, SlotChangedEvent.Change.BOOKED));
+        cache.onSlotChanged(event(1_000_000L, SlotChangedEvent.Change.BOOKED));
+
+        assertTrue(cache.isUnavailable(7L));
+        assertTrue(cache.isUnavailable(1_000_000L));
+        assertFalse(cache.isUnavailable(8L));
+        assertFalse(cache.isUnavailable(5_000_000L));
+
+        cache.onSlotChanged(event(7L, SlotChangedEvent.Change.RELEASED));
+        assertFalse(cache.isUnavailable(7L));
+        assertTrue(cache.isUnavailable(1_000_000L));
+    }
+
+    @Test
+    void reloadKeepsEventsThatArrivedWhileLoading() {
+        UnavailableSlotCache[] reloading = new UnavailableSlotCache[1];
+        reloading[0] = new UnavailableSlotCache(new TimeSlotJdbcRepository(null) {
+            @Override
+            public void forEachUnavailableSlotId(LongConsumer consumer) {
+                consumer.accept(3L);
+                // Committed after the load read these rows
+                reloading[0].onSlotChanged(event(9L, SlotChangedEvent.Change.BOOKED));
+                reloading[0].onSlotChanged(event(3L, SlotChangedEvent.Change.RELEASED));
+            }
+        });
+        reloading[0].onSlotChanged(event(5L, SlotChangedEvent.Change.BOOKED));
+
+        reloading[0].refresh();
+
+        assertTrue(reloading[0].isUnavailable(9L));
+        assertFalse(reloading[0].isUnavailable(3L));
+        // Not in time_slots any more, so the reload drops it
+        assertFalse(reloading[0].isUnavailable(5L));
+    }
+
+    private static SlotChangedEvent event(Long slotId, SlotChangedEvent.Change change) {
+        return new SlotChangedEvent(slotId, 1L, "7031809", null, null, change);
+    }
+}
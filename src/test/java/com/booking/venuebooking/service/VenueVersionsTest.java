@@ -0,0 +1,106 @@
+package com.booking.venuebooking.service;
+
+import com.booking.venuebooking.TestVenues;
+import com.booking.venuebooking.dto.BookingDTO;
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.repository.VenueRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class VenueVersionsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private VenueSlotCounts venueSlotCounts;
+
+    private Long venueId;
+    private Long slotId;
+
+    @BeforeEach
+    void createVenue() {
+        venueId = TestVenues.create(venueRepository, "Polling Arena");
+
+        LocalDateTime start = LocalDateTime.of(2034, 1, 1, 8, 0);
+        slotId = timeSlotService.createSlot(venueId,
+                new TimeSlotDTO(null, null, start, start.plusHours(1), null)).getId();
+        venueSlotCounts.flush();
+    }
+
+    @Test
+    void unchangedVenueAnswersNotModifiedWithoutQueries() throws Exception {
+        MvcResult first = mockMvc.perform(get("/venues/{id}", venueId)).andExpect(status().isOk()).andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertNotNull(first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED));
+        String slotsEtag = mockMvc.perform(get("/venues/{id}/slots", venueId)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(slotsEtag);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/venues/{id}", venueId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/venues/{id}/slots", venueId).header(HttpHeaders.IF_NONE_MATCH, slotsEtag))
+                .andExpect(status().isNotModified());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        bookingService.createBooking(new BookingDTO(null, slotId, "Polling Customer", "poll@example.com",
+                null, null, null, null, null));
+        venueSlotCounts.flush();
+
+        mockMvc.perform(get("/venues/{id}", venueId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        MvcResult changed = mockMvc.perform(get("/venues/{id}/slots", venueId).header(HttpHeaders.IF_NONE_MATCH, slotsEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].isAvailable").value(false))
+                .andReturn();
+        assertNotEquals(slotsEtag, changed.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void venueListChangesWithAnyVenue() throws Exception {
+        String etag = mockMvc.perform(get("/venues")).andExpect(status().isOk()).andReturn()
+                .getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/venues").header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+
+        LocalDateTime start = LocalDateTime.of(2034, 1, 2, 8, 0);
+        timeSlotService.createSlot(venueId, new TimeSlotDTO(null, null, start, start.plusHours(1), null));
+        venueSlotCounts.flush();
+
+        mockMvc.perform(get("/venues").header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isOk());
+    }
+}
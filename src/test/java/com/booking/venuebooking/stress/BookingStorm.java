@@ -0,0 +1,177 @@
+package com.booking.venuebooking.stress;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Fires concurrent POST /bookings and PUT /bookings/{id}/cancel requests at a running
+ * instance over HTTP. Each worker books a random slot from the given pool and cancels a
+ * share of its successful bookings again. 503 responses (lock failures) are retried up to
+ * {@link Settings#maxRetries()} times; latencies include those retries.
+ */
+final class BookingStorm {
+
+    record Settings(int threads, int requests, double cancelRatio, int maxRetries) {
+    }
+
+    record Report(String label, int threads, int requests, long durationMillis, double throughputPerSecond,
+                  double p50Millis, double p99Millis, double maxMillis, Map<Integer, Long> statusCounts,
+                  long booked, long cancelled, long lockFailures, long deadlocks, long retries,
+                  Map<String, Double> server) {
+
+        long unexpectedErrors() {
+            return statusCounts.entrySet().stream()
+                    .filter(entry -> entry.getKey() >= 500 && entry.getKey() != 503)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+    }
+
+    private static final ObjectMapper JSON = JsonMapper.builder().build();
+
+    private final URI baseUri;
+    private final List<Long> slotIds;
+    private final Settings settings;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder booked = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder lockFailures = new LongAdder();
+    private final LongAdder deadlocks = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    BookingStorm(URI baseUri, List<Long> slotIds, Settings settings) {
+        this.baseUri = baseUri;
+        this.slotIds = slotIds;
+        this.settings = settings;
+    }
+
+    /**
+     * @param serverMeters cumulative server-side values (retries, pool wait, ...), sampled
+     *                     before and after the storm; the report holds their deltas
+     */
+    Report run(String label, Map<String, DoubleSupplier> serverMeters) throws InterruptedException {
+        AtomicInteger remaining = new AtomicInteger(settings.requests());
+        long[][] latencies = new long[settings.threads()][settings.requests()];
+        int[] completed = new int[settings.threads()];
+        Map<String, Double> before = new TreeMap<>();
+        serverMeters.forEach((name, meter) -> before.put(name, meter.getAsDouble()));
+
+        ExecutorService workers = Executors.newFixedThreadPool(settings.threads());
+        long started = System.nanoTime();
+        for (int t = 0; t < settings.threads(); t++) {
+            int worker = t;
+            workers.execute(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    long begin = System.nanoTime();
+                    bookOrCancel();
+                    latencies[worker][completed[worker]++] = System.nanoTime() - begin;
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.HOURS);
+        long elapsed = System.nanoTime() - started;
+
+        long[] all = IntStream.range(0, settings.threads())
+                .mapToObj(worker -> Arrays.stream(latencies[worker], 0, completed[worker]))
+                .flatMapToLong(samples -> samples)
+                .sorted()
+                .toArray();
+        Map<String, Double> server = new TreeMap<>();
+        serverMeters.forEach((name, meter) -> server.put(name, meter.getAsDouble() - before.get(name)));
+        Map<Integer, Long> statuses = new TreeMap<>();
+        statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+
+        return new Report(label, settings.threads(), all.length, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                all.length / (elapsed / 1e9), percentile(all, 0.50), percentile(all, 0.99),
+                all.length == 0 ? 0 : all[all.length - 1] / 1e6, statuses,
+                booked.sum(), cancelled.sum(), lockFailures.sum(), deadlocks.sum(), retries.sum(), server);
+    }
+
+    private void bookOrCancel() {
+        Long slotId = slotIds.get(ThreadLocalRandom.current().nextInt(slotIds.size()));
+        String body = "{\"slotId\":" + slotId + ",\"customerName\":\"Stress\",\"customerEmail\":\"stress@example.com\"}";
+        HttpResponse<String> response = send(HttpRequest.newBuilder(baseUri.resolve("/bookings"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response == null || response.statusCode() != 201) {
+            return;
+        }
+        booked.increment();
+
+        if (ThreadLocalRandom.current().nextDouble() < settings.cancelRatio()) {
+            long bookingId = JSON.readTree(response.body()).path("id").asLong();
+            HttpResponse<String> cancel = send(HttpRequest.newBuilder(baseUri.resolve("/bookings/" + bookingId + "/cancel"))
+                    .PUT(HttpRequest.BodyPublishers.noBody()));
+            if (cancel != null && cancel.statusCode() == 200) {
+                cancelled.increment();
+            }
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) {
+        HttpResponse<String> response = null;
+        for (int attempt = 0; attempt <= settings.maxRetries(); attempt++) {
+            if (attempt > 0) {
+                retries.increment();
+            }
+            try {
+                response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            } catch (IOException ex) {
+                statusCounts.computeIfAbsent(-1, status -> new LongAdder()).increment();
+                return null;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            statusCounts.computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+            if (response.statusCode() != 503) {
+                return response;
+            }
+            lockFailures.increment();
+            if (isDeadlock(response.body())) {
+                deadlocks.increment();
+            }
+        }
+        return response;
+    }
+
+    private static boolean isDeadlock(String body) {
+        JsonNode message = JSON.readTree(body).path("message");
+        return message.asString("").toLowerCase().contains("deadlock");
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(rank, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,135 @@
+package com.booking.venuebooking.stress;
+
+import com.booking.venuebooking.TestVenues;
+import com.booking.venuebooking.dto.TimeSlotDTO;
+import com.booking.venuebooking.repository.VenueRepository;
+import com.booking.venuebooking.service.TimeSlotService;
+import com.booking.venuebooking.service.VenueSlotCounts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Booking/cancel storm against the REST layer on the test datasource (embedded H2 unless
+ * spring.datasource.* is overridden, e.g. to point at a local MySQL). Size it with
+ * -Dstress.threads, -Dstress.requests, -Dstress.slots and -Dstress.cancel-ratio; the
+ * report is logged and written to stress.report as JSON.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BookingStressTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${stress.threads:16}")
+    private int threads;
+
+    @Value("${stress.requests:200}")
+    private int requests;
+
+    @Value("${stress.slots:4}")
+    private int slots;
+
+    @Value("${stress.cancel-ratio:0.5}")
+    private double cancelRatio;
+
+    @Value("${stress.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${stress.report:target/booking-stress.json}")
+    private String reportPath;
+
+    @Value("${stress.label:${spring.profiles.active:default}}")
+    private String label;
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private VenueSlotCounts venueSlotCounts;
+
+    @Test
+    void neverConfirmsTwoBookingsForOneSlot() throws Exception {
+        Long venueId = TestVenues.create(venueRepository, "Stress Arena");
+
+        List<Long> slotIds = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2033, 1, 1, 8, 0);
+        for (int i = 0; i < slots; i++) {
+            slotIds.add(timeSlotService.createSlot(venueId,
+                    new TimeSlotDTO(null, null, start.plusHours(i), start.plusHours(i + 1), null)).getId());
+        }
+
+        BookingStorm.Settings settings = new BookingStorm.Settings(threads, requests, cancelRatio, maxRetries);
+        BookingStorm.Report report = new BookingStorm(URI.create("http://localhost:" + port), slotIds, settings)
+                .run(label, Map.of(
+                        "serverRetries", this::serverRetries,
+                        "poolWaitMillis", () -> timerMillis("hikaricp.connections.acquire"),
+                        "admissionWaitMillis", () -> timerMillis("db.admission.wait")));
+        log.info("Booking stress: {}", report);
+        File reportFile = new File(reportPath);
+        if (reportFile.getParentFile() != null) {
+            reportFile.getParentFile().mkdirs();
+        }
+        JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+
+        assertEquals(0, report.unexpectedErrors(), "unexpected server errors: " + report.statusCounts());
+
+        Long doubleBooked = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT b.slot_id FROM bookings b " +
+                "JOIN time_slots s ON s.id = b.slot_id WHERE s.venue_id = ? AND b.status = 'CONFIRMED' " +
+                "GROUP BY b.slot_id HAVING COUNT(*) > 1) d", Long.class, venueId);
+        assertEquals(0L, doubleBooked, "slots with more than one CONFIRMED booking");
+
+        Long confirmed = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings b JOIN time_slots s " +
+                "ON s.id = b.slot_id WHERE s.venue_id = ? AND b.status = 'CONFIRMED'", Long.class, venueId);
+        assertEquals(report.booked() - report.cancelled(), confirmed);
+
+        Long inconsistent = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM time_slots s WHERE s.venue_id = ? " +
+                "AND s.is_available = CASE WHEN EXISTS (SELECT 1 FROM bookings b WHERE b.slot_id = s.id " +
+                "AND b.status = 'CONFIRMED') THEN TRUE ELSE FALSE END", Long.class, venueId);
+        assertEquals(0L, inconsistent, "slots whose availability disagrees with their bookings");
+
+        venueSlotCounts.flush();
+        Integer counter = jdbcTemplate.queryForObject("SELECT available_slots_count FROM venues WHERE id = ?",
+                Integer.class, venueId);
+        assertEquals(slots - confirmed, counter.longValue());
+        assertTrue(report.booked() > 0);
+    }
+
+    private double serverRetries() {
+        return meterRegistry.find("booking.retries").counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private double timerMillis(String name) {
+        return meterRegistry.find(name).timers().stream().mapToDouble(timer -> timer.totalTime(TimeUnit.MILLISECONDS)).sum()
+                + meterRegistry.find(name).functionTimers().stream()
+                .mapToDouble(timer -> timer.totalTime(TimeUnit.MILLISECONDS)).sum();
+    }
+}